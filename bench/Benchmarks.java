@@ -0,0 +1,114 @@
+import java.util.stream.IntStream;
+
+/**
+ * The Benchmarks class lays out the snakes shared by the benchmarks and harnesses: a Hamiltonian cycle of
+ * the board, and snakes of any length lying along it, which can move forever without colliding.
+ * <p>
+ * The JMH benchmarks in {@code jmh} are built and run with Maven, for example:
+ * <pre>
+ * mvn -Pjmh verify -Djmh.args="ModelBenchmark -p board=32x24"
+ * </pre>
+ * and the harnesses in {@code bench} are run from the test classes, for example:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes RenderBenchmark
+ * </pre>
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+final class Benchmarks {
+    private Benchmarks() {
+    }
+
+    /**
+     * Builds a Hamiltonian cycle over the board: along the top row, then snaking back and forth
+     * through columns 1 and up, and finally up column 0 to the start. A snake that follows the
+     * cycle never collides, even when it covers the whole board.
+     *
+     * @param geometry The size of the board; the number of rows must be even.
+     * @return The packed cell indices in the order they are visited.
+     */
+    static int[] boardCycle(BoardGeometry geometry) {
+        int columns = geometry.getColumns();
+        int rows = geometry.getRows();
+        if (rows % 2 != 0 || columns < 2) {
+            throw new IllegalArgumentException("The board needs an even number of rows and at least two columns");
+        }
+        int[] cycle = new int[geometry.getCellCount()];
+        int index = 0;
+        for (int column = 0; column < columns; column++) {
+            cycle[index++] = column;
+        }
+        for (int row = 1; row < rows; row++) {
+            if (row % 2 == 1) {
+                for (int column = columns - 1; column >= 1; column--) {
+                    cycle[index++] = row * columns + column;
+                }
+            } else {
+                for (int column = 1; column < columns; column++) {
+                    cycle[index++] = row * columns + column;
+                }
+            }
+        }
+        for (int row = rows - 1; row >= 1; row--) {
+            cycle[index++] = row * columns;
+        }
+        return cycle;
+    }
+
+    /**
+     * Gets the direction to take from each step of a cycle to the next.
+     *
+     * @param cycle   The cycle returned by {@link #boardCycle(BoardGeometry)}.
+     * @param columns The number of columns on the board.
+     * @return The direction leaving each position of the cycle.
+     */
+    static char[] cycleDirections(int[] cycle, int columns) {
+        char[] directions = new char[cycle.length];
+        for (int i = 0; i < cycle.length; i++) {
+            int from = cycle[i];
+            int to = cycle[(i + 1) % cycle.length];
+            if (to == from + 1) {
+                directions[i] = 'R';
+            } else if (to == from - 1) {
+                directions[i] = 'L';
+            } else if (to == from + columns) {
+                directions[i] = 'D';
+            } else {
+                directions[i] = 'U';
+            }
+        }
+        return directions;
+    }
+
+    /**
+     * Gets the body of a snake lying along the start of a cycle.
+     *
+     * @param cycle  The cycle returned by {@link #boardCycle(BoardGeometry)}.
+     * @param length The length of the snake.
+     * @return The packed cell indices of the body, from head to tail.
+     */
+    static int[] snakeAlongCycle(int[] cycle, int length) {
+        int[] cells = new int[length];
+        for (int i = 0; i < length; i++) {
+            cells[i] = cycle[length - 1 - i];
+        }
+        return cells;
+    }
+
+    /**
+     * Gets the snake lengths to measure on a board: from the starting length up to the whole board.
+     *
+     * @param cellCount The number of cells on the board.
+     * @return The snake lengths.
+     */
+    static int[] snakeLengths(int cellCount) {
+        return IntStream.of(4, cellCount / 16, cellCount / 4, cellCount / 2, cellCount)
+                .filter(length -> length >= 4)
+                .distinct()
+                .toArray();
+    }
+}
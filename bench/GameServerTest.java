@@ -0,0 +1,173 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests that a {@link GameServer} sends each client a full state it can follow the game from, whether the
+ * client joins mid-game or asks for the state again, by following the game on a local server through
+ * {@link RemoteGame}s.
+ * <p>
+ * No turns are sent, so the snake runs straight along the top row of a long board from the first cell and
+ * its head is on the column of the tick number, which checks the clients against the server's model.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class GameServerTest {
+    private static final BoardGeometry BOARD = new BoardGeometry(400, 4, 25);
+    private static final long TICK_PERIOD_NANOS = 4_000_000L;
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+
+    private GameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new GameServer(BOARD, "easy", 0);
+        server.setTickPeriod(TICK_PERIOD_NANOS);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void sendsJoiningClientTheCurrentState() throws IOException {
+        try (Connection first = new Connection(server.getPort())) {
+            pollUntil(() -> first.remoteGame.getTick() >= 20, first);
+            assertTrue(first.remoteGame.getIsRunning(), "The game ended before the second client joined");
+
+            try (Connection joining = new Connection(server.getPort())) {
+                pollUntil(joining.remoteGame::hasState, first, joining);
+                long joinTick = joining.remoteGame.getTick();
+                assertTrue(joinTick >= 20, "The joining client was sent the game from tick " + joinTick);
+                assertOnServerPath(joining.remoteGame);
+
+                int compared = 0;
+                while (joining.remoteGame.getTick() < joinTick + 30) {
+                    pollUntil(() -> first.remoteGame.getTick() == joining.remoteGame.getTick(), first, joining);
+                    assertSameState(first.remoteGame, joining.remoteGame);
+                    assertOnServerPath(joining.remoteGame);
+                    compared++;
+                    poll(first, joining);
+                }
+                assertTrue(compared > 0, "The clients were never on the same tick");
+                assertFalse(joining.remoteGame.isOutOfSync());
+                assertEquals(1, joining.remoteGame.getFullStateCount());
+            }
+        }
+    }
+
+    @Test
+    void resendsCurrentStateOnRequest() throws IOException {
+        try (Connection connection = new Connection(server.getPort())) {
+            RemoteGame remoteGame = connection.remoteGame;
+            pollUntil(() -> remoteGame.getTick() >= 10, connection);
+            long requestTick = remoteGame.getTick();
+            connection.send(GameProtocol.RESYNC);
+            pollUntil(() -> remoteGame.getFullStateCount() == 2, connection);
+            assertTrue(remoteGame.getTick() >= requestTick);
+            assertOnServerPath(remoteGame);
+
+            long resyncTick = remoteGame.getTick();
+            pollUntil(() -> remoteGame.getTick() >= resyncTick + 10, connection);
+            assertFalse(remoteGame.isOutOfSync());
+            assertOnServerPath(remoteGame);
+        }
+    }
+
+    /**
+     * Checks a client's state against the server's game, in which the snake has moved right along the top row
+     * once a tick since the game started on the first tick.
+     */
+    private static void assertOnServerPath(RemoteGame remoteGame) {
+        assertTrue(remoteGame.getIsRunning(), "The game ended at tick " + remoteGame.getTick());
+        assertEquals('R', remoteGame.getDirection());
+        assertEquals(remoteGame.getTick(), remoteGame.getX(0), "the head's column");
+        assertEquals(0, remoteGame.getY(0), "the head's row");
+        assertEquals(remoteGame.getTick(), remoteGame.getHeadSerial());
+    }
+
+    private static void assertSameState(RemoteGame expected, RemoteGame actual) {
+        String where = "tick " + expected.getTick();
+        assertEquals(expected.getLength(), actual.getLength(), where);
+        for (int i = 0; i < expected.getLength(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i), "segment " + i + ", " + where);
+            assertEquals(expected.getY(i), actual.getY(i), "segment " + i + ", " + where);
+            assertEquals(expected.getSegmentId(i), actual.getSegmentId(i), "segment " + i + ", " + where);
+        }
+        assertEquals(expected.getAppleCell(), actual.getAppleCell(), where);
+        assertEquals(expected.getScore(), actual.getScore(), where);
+        assertEquals(expected.getDirection(), actual.getDirection(), where);
+        assertEquals(expected.getIsRunning(), actual.getIsRunning(), where);
+        assertEquals(expected.getDelay(), actual.getDelay(), where);
+        assertEquals(expected.getDelayStep(), actual.getDelayStep(), where);
+        assertEquals(expected.getTickPeriodNanos(), actual.getTickPeriodNanos(), where);
+    }
+
+    private static void pollUntil(BooleanSupplier condition, Connection... connections) throws IOException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the server");
+            }
+            poll(connections);
+        }
+    }
+
+    private static void poll(Connection... connections) throws IOException {
+        for (Connection connection : connections) {
+            connection.read();
+        }
+        Thread.onSpinWait();
+    }
+
+    /**
+     * A client connected to the server, whose messages are applied to its game as they arrive.
+     */
+    private static class Connection implements AutoCloseable {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(1 << 16);
+        private final RemoteGame remoteGame = new RemoteGame();
+
+        private Connection(int port) throws IOException {
+            channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            channel.configureBlocking(false);
+        }
+
+        private void read() throws IOException {
+            if (channel.read(in) < 0) {
+                fail("The server closed the connection");
+            }
+            in.flip();
+            remoteGame.read(in);
+            in.compact();
+        }
+
+        private void send(byte request) throws IOException {
+            ByteBuffer out = ByteBuffer.allocate(1).put(request).flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
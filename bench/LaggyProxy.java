@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The LaggyProxy class stands between a {@link GameClient} and a {@link GameServer} and holds back everything
+ * passing through it in either direction by a set delay, give or take a random jitter, to try networked play
+ * on one machine under the conditions of a real network. Like TCP, it never reorders: a chunk that draws a
+ * shorter delay than the one before it waits for that one.
+ * <p>
+ * Each connection gets a reader and a writer thread for each direction. Usage:
+ * {@code LaggyProxy [listen port] [server host:port] [delay ms] [jitter ms]}, by default listening on 5556
+ * for a server on localhost:5555 with 50 ms of delay and 20 ms of jitter each way.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class LaggyProxy implements Runnable {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ServerSocket serverSocket;
+    private final InetSocketAddress target;
+    private final long delayNanos;
+    private final long jitterNanos;
+    private final Random random;
+
+    /**
+     * Constructor to open the proxy's listening socket.
+     *
+     * @param port        The port to listen on, or 0 for any free port.
+     * @param target      The address of the server to pass connections on to.
+     * @param delayNanos  The average time everything is held back for, in each direction.
+     * @param jitterNanos The most the time may vary either way from the delay.
+     * @param seed        The seed of the jitter.
+     * @throws IOException If the port cannot be opened.
+     */
+    public LaggyProxy(int port, InetSocketAddress target, long delayNanos, long jitterNanos, long seed) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.target = target;
+        this.delayNanos = delayNanos;
+        this.jitterNanos = jitterNanos;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Starts accepting connections on a daemon thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this, "laggy-proxy");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops accepting connections. Those already made last until either end closes them.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Nothing more to close
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * The accepting loop: connects each client to the server and starts passing bytes both ways.
+     */
+    @Override
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket server = new Socket(target.getHostName(), target.getPort());
+                client.setTcpNoDelay(true);
+                server.setTcpNoDelay(true);
+                pass(client, server, "up");
+                pass(server, client, "down");
+            } catch (IOException e) {
+                // The socket was closed, or the server refused; either way the next accept tells
+            }
+        }
+    }
+
+    /**
+     * Starts passing the bytes read from one socket to another after the delay.
+     */
+    private void pass(Socket from, Socket to, String name) throws IOException {
+        BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+        InputStream in = from.getInputStream();
+        OutputStream out = to.getOutputStream();
+
+        Thread reader = new Thread(() -> {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            long lastDue = 0;
+            try {
+                int count;
+                while ((count = in.read(buffer)) >= 0) {
+                    long due = Math.max(lastDue, System.nanoTime() + nextDelay());
+                    queue.add(new Chunk(Arrays.copyOf(buffer, count), due));
+                    lastDue = due;
+                }
+            } catch (IOException e) {
+                // Treated the same as the end of the stream
+            }
+            queue.add(new Chunk(null, lastDue));
+        }, "laggy-proxy-" + name + "-reader");
+
+        Thread writer = new Thread(() -> {
+            try {
+                while (true) {
+                    Chunk chunk = queue.take();
+                    long wait = chunk.due - System.nanoTime();
+                    if (wait > 0) {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    }
+                    if (chunk.bytes == null) {
+                        break;
+                    }
+                    out.write(chunk.bytes);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // The other end is gone
+            }
+            try {
+                from.close();
+                to.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }, "laggy-proxy-" + name + "-writer");
+
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+    }
+
+    /**
+     * Draws the delay of the next chunk, evenly from the delay less the jitter to the delay plus the jitter.
+     */
+    private long nextDelay() {
+        synchronized (random) {
+            long offset = jitterNanos == 0 ? 0 : (long) ((random.nextDouble() * 2 - 1) * jitterNanos);
+            return Math.max(0, delayNanos + offset);
+        }
+    }
+
+    /**
+     * Bytes waiting to be passed on, with the {@link System#nanoTime()} they are due at. No bytes marks the end.
+     */
+    private static class Chunk {
+        private final byte[] bytes;
+        private final long due;
+
+        private Chunk(byte[] bytes, long due) {
+            this.bytes = bytes;
+            this.due = due;
+        }
+    }
+
+    /**
+     * Runs a proxy until the process is stopped.
+     *
+     * @param args The port to listen on, the server's address, and the delay and jitter in milliseconds.
+     * @throws IOException If the port cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT + 1;
+        String address = args.length > 1 ? args[1] : "localhost:" + GameServer.DEFAULT_PORT;
+        long delayMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        long jitterMillis = args.length > 3 ? Long.parseLong(args[3]) : 20;
+
+        int colon = address.lastIndexOf(':');
+        InetSocketAddress target = new InetSocketAddress(address.substring(0, colon),
+                Integer.parseInt(address.substring(colon + 1)));
+        LaggyProxy proxy = new LaggyProxy(port, target, delayMillis * 1_000_000, jitterMillis * 1_000_000,
+                System.nanoTime());
+        System.out.printf("Passing port %d to %s with %d ms of delay and %d ms of jitter%n", proxy.getPort(), address,
+                delayMillis, jitterMillis);
+        proxy.run();
+    }
+}
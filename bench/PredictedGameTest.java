@@ -0,0 +1,372 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a {@link PredictedGame} keeps up with a server across a network that delays and jitters its
+ * messages: that the prediction agrees with the server once the server has taken its turns, that the lead
+ * grows when turns arrive late and shrinks when they arrive early, and that the prediction is corrected when
+ * the server plays a turn on another tick than the one it was made for.
+ * <p>
+ * The server and the network are simulated on a clock of the test's own, so every run plays out the same.
+ * The server plays the game as {@link GameServer} does for a single client, and its messages are encoded with
+ * {@link GameProtocol} and applied to a {@link RemoteGame}, which the prediction is reconciled with.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class PredictedGameTest {
+    private static final BoardGeometry BOARD = new BoardGeometry(20, 15, 25);
+    private static final long TICK_PERIOD_NANOS = 10_000_000L;
+    private static final long STEP_NANOS = 1_000_000L;
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    @Test
+    void agreesWithServerOnceTurnsAreTaken() {
+        Simulation simulation = new Simulation(1L);
+        simulation.setLatency(30_000_000L, 15_000_000L);
+        simulation.run(20 * SECOND_NANOS, true);
+        assertTrue(simulation.checkedTicks > 200, "The prediction was compared on only "
+                + simulation.checkedTicks + " ticks");
+        assertTrue(simulation.turnsTaken > 200, "Only " + simulation.turnsTaken + " turns were taken");
+
+        // Once the client stops turning, everything it made is taken and the prediction settles on the server's
+        simulation.run(SECOND_NANOS, false);
+        assertEquals(0, simulation.predictedGame.getUnconfirmedTurns());
+        long corrections = simulation.predictedGame.getCorrections();
+        int checkedTicks = simulation.checkedTicks;
+        simulation.run(SECOND_NANOS, false);
+        assertEquals(corrections, simulation.predictedGame.getCorrections(), "Corrections without turns");
+        assertTrue(simulation.checkedTicks > checkedTicks + 20, "The settled prediction was hardly compared");
+    }
+
+    @Test
+    void growsLeadForLateTurnsAndShrinksItForEarlyOnes() {
+        Simulation simulation = new Simulation(2L);
+        simulation.setLatency(5_000_000L, 2_000_000L);
+        simulation.run(3 * SECOND_NANOS, true);
+        int settledLead = simulation.predictedGame.getLead();
+        long settledCorrections = simulation.predictedGame.getCorrections();
+
+        // The delay jumps by several ticks, so the turns made for the old lead reach the server too late
+        simulation.setLatency(80_000_000L, 20_000_000L);
+        simulation.lateAcks = 0;
+        simulation.maxLead = 0;
+        simulation.run(3 * SECOND_NANOS, true);
+        assertTrue(simulation.lateAcks > 0, "No turn arrived late");
+        assertTrue(simulation.maxLead >= settledLead + 8, "The lead grew from " + settledLead + " to only "
+                + simulation.maxLead);
+        assertTrue(simulation.predictedGame.getCorrections() > settledCorrections,
+                "The late turns were not corrected");
+        int grownLead = simulation.predictedGame.getLead();
+        assertTrue(grownLead > settledLead);
+
+        // Back to a short delay, the turns arrive with ticks to spare
+        simulation.setLatency(5_000_000L, 2_000_000L);
+        simulation.lateAcks = 0;
+        simulation.run(3 * SECOND_NANOS, true);
+        assertEquals(0, simulation.lateAcks, "A turn arrived late");
+        assertTrue(simulation.predictedGame.getLead() < grownLead - 4, "The lead shrank from " + grownLead
+                + " to only " + simulation.predictedGame.getLead());
+    }
+
+    @Test
+    void correctsTurnPlayedOnAnotherTick() {
+        Simulation simulation = new Simulation(3L);
+        simulation.setLatency(20_000_000L, 0L);
+        simulation.run(50_000_000L, false);
+        PredictedGame predictedGame = simulation.predictedGame;
+        assertEquals('R', predictedGame.getModel().getDirection());
+        assertEquals(0, predictedGame.getCorrections());
+
+        // A turn held up several ticks past its tick, which the server plays as soon as it arrives
+        long targetTick = predictedGame.turn('D');
+        simulation.sendTurn('D', targetTick, 80_000_000L);
+        simulation.run(20_000_000L, false);
+        assertEquals(0, predictedGame.getCorrections(), "Corrected before the server took the turn");
+        simulation.run(120_000_000L, false);
+        assertEquals(1, simulation.lateAcks);
+        assertTrue(simulation.latestEarliness < -3, "The turn was " + -simulation.latestEarliness + " ticks late");
+        assertEquals(0, predictedGame.getUnconfirmedTurns());
+        // Corrected on every tick the server played without the turn, as the turn moved to a later tick each time
+        long corrections = predictedGame.getCorrections();
+        assertTrue(corrections > 0 && corrections <= 1 - simulation.latestEarliness, corrections + " corrections");
+
+        int checkedTicks = simulation.checkedTicks;
+        simulation.run(100_000_000L, false);
+        assertEquals('D', predictedGame.getModel().getDirection());
+        assertEquals(corrections, predictedGame.getCorrections(), "Corrected again after the turn was taken");
+        assertTrue(simulation.checkedTicks > checkedTicks, "The corrected prediction was never compared");
+    }
+
+    /**
+     * A server playing a game for one client, and the network between them, stepped a millisecond at a time.
+     * The client steers the predicted snake with a bot, as a player would. Whenever every turn the client
+     * has made has been taken, the prediction for its local tick is kept, and compared with the server's
+     * state once the server plays that tick.
+     */
+    private static class Simulation {
+        private static final int TURN_LEAD = 32;
+        private static final int HISTORY = 1 << 16;
+        private static final long RESTART_NANOS = 100_000_000L;
+
+        private final Random random;
+        private final SnakeBot bot = new GreedySnakeBot();
+        private final SnakeModel serverModel;
+        private final RemoteGame remoteGame = new RemoteGame();
+        private final PredictedGame predictedGame;
+        private final ByteBuffer message;
+        private final ByteBuffer payload;
+        private final int[] cells;
+        private final ByteBuffer received = ByteBuffer.allocate(1 << 16);
+
+        // The predicted head, direction and game for the latest ticks, by the tick's slot
+        private final long[] predictedTicks = new long[HISTORY];
+        private final int[] predictedHeads = new int[HISTORY];
+        private final char[] predictedDirections = new char[HISTORY];
+        private final int[] predictedGames = new int[HISTORY];
+        private long now;
+        private long nextTick;
+        private long serverTick;
+        private int game;
+        private long gameOverTime;
+
+        // The messages and turns on their way, each delivered no earlier than the one sent before it;
+        // a turn is its direction, target tick and arrival time
+        private final ArrayDeque<byte[]> messages = new ArrayDeque<>();
+        private final ArrayDeque<Long> messageTimes = new ArrayDeque<>();
+        private final ArrayDeque<long[]> turns = new ArrayDeque<>();
+        private long lastMessageTime;
+        private long lastTurnTime;
+        private long latencyNanos;
+        private long jitterNanos;
+
+        // The server's queue of the client's turns: direction, tick, earliness
+        private final ArrayDeque<long[]> queuedTurns = new ArrayDeque<>();
+        private long takenTurns;
+        private long turnEarliness;
+        private boolean isAckPending;
+
+        private long seenTakenTurns;
+        private long latestEarliness;
+        private int lateAcks;
+        private int maxLead;
+        private long turnsTaken;
+        private int checkedTicks;
+
+        private Simulation(long seed) {
+            random = new Random(seed);
+            serverModel = new SnakeModel(BOARD, seed);
+            int size = GameProtocol.getMaxFullStateSize(serverModel);
+            message = ByteBuffer.allocate(size);
+            payload = ByteBuffer.allocate(size);
+            cells = new int[serverModel.getBodyCapacity()];
+            startGame();
+            deliverMessages(Long.MAX_VALUE);
+            predictedGame = new PredictedGame(remoteGame, now);
+            nextTick = now + TICK_PERIOD_NANOS;
+        }
+
+        private void setLatency(long latencyNanos, long jitterNanos) {
+            this.latencyNanos = latencyNanos;
+            this.jitterNanos = jitterNanos;
+        }
+
+        /**
+         * Runs the server, the network and the client for a while.
+         *
+         * @param duration  The time to run for, in nanoseconds.
+         * @param isTurning Whether the client makes turns.
+         */
+        private void run(long duration, boolean isTurning) {
+            long end = now + duration;
+            while (now < end) {
+                now += STEP_NANOS;
+                while (!turns.isEmpty() && turns.peek()[2] <= now) {
+                    long[] turn = turns.poll();
+                    offerTurn((char) turn[0], turn[1]);
+                }
+                if (now >= nextTick) {
+                    playTick();
+                    nextTick += TICK_PERIOD_NANOS;
+                }
+                if (deliverMessages(now) > 0) {
+                    predictedGame.reconcile(now);
+                    checkAcks();
+                    keepPrediction();
+                }
+                if (predictedGame.advance(now) > 0) {
+                    keepPrediction();
+                    if (isTurning) {
+                        steer();
+                    }
+                }
+                maxLead = Math.max(maxLead, predictedGame.getLead());
+            }
+        }
+
+        /**
+         * Turns the predicted snake on some of its ticks, the way the bot would, and now and then at random.
+         */
+        private void steer() {
+            SnakeModel snakeModel = predictedGame.getModel();
+            if (!snakeModel.getIsRunning() || random.nextInt(3) != 0) {
+                return;
+            }
+            char direction = random.nextInt(8) == 0
+                    ? GameProtocol.DIRECTIONS.charAt(random.nextInt(4))
+                    : bot.chooseDirection(snakeModel);
+            if (DirectionQueue.isTurn(snakeModel.getDirection(), direction)) {
+                long targetTick = predictedGame.turn(direction);
+                if (targetTick >= 0) {
+                    sendTurn(direction, targetTick, 0);
+                }
+            }
+        }
+
+        private void sendTurn(char direction, long targetTick, long extraDelay) {
+            lastTurnTime = Math.max(lastTurnTime, now + delay() + extraDelay);
+            turns.add(new long[]{direction, targetTick, lastTurnTime});
+        }
+
+        /**
+         * Queues a turn for its tick, the way {@link GameServer} does.
+         */
+        private void offerTurn(char direction, long targetTick) {
+            long firstTick = serverTick + 1;
+            queuedTurns.add(new long[]{direction, Math.min(targetTick, firstTick + TURN_LEAD), targetTick - firstTick});
+        }
+
+        private void playTick() {
+            if (!serverModel.getIsRunning()) {
+                if (now - gameOverTime >= RESTART_NANOS) {
+                    startGame();
+                }
+                return;
+            }
+            char direction = serverModel.getDirection();
+            long playing = serverTick + 1;
+            while (!queuedTurns.isEmpty() && queuedTurns.peek()[1] <= playing) {
+                long[] turn = queuedTurns.poll();
+                takeTurn(turn[2]);
+                if (DirectionQueue.isTurn(direction, (char) turn[0])) {
+                    direction = (char) turn[0];
+                    break;
+                }
+            }
+            if (!serverModel.step(direction)) {
+                gameOverTime = now;
+            }
+            serverTick = playing;
+            checkPrediction();
+            message.clear();
+            GameProtocol.writeTick(message, serverModel, serverTick);
+            send();
+        }
+
+        private void startGame() {
+            serverModel.startGame("easy");
+            game++;
+            while (!queuedTurns.isEmpty()) {
+                takeTurn(queuedTurns.poll()[2]);
+            }
+            message.clear();
+            GameProtocol.writeFullState(message, payload, serverModel, serverTick, TICK_PERIOD_NANOS, cells);
+            send();
+        }
+
+        private void takeTurn(long earliness) {
+            takenTurns++;
+            turnEarliness = earliness;
+            isAckPending = true;
+        }
+
+        /**
+         * Sends the message in the buffer, after an ack if turns have been taken.
+         */
+        private void send() {
+            ByteBuffer out = ByteBuffer.allocate(message.position() + 1 + 1 + 3 * VarInt.MAX_BYTES);
+            if (isAckPending) {
+                GameProtocol.writeAck(out, serverTick, takenTurns, turnEarliness);
+                isAckPending = false;
+            }
+            out.put(message.flip());
+            byte[] bytes = new byte[out.position()];
+            out.flip().get(bytes);
+            lastMessageTime = Math.max(lastMessageTime, now + delay());
+            messages.add(bytes);
+            messageTimes.add(lastMessageTime);
+        }
+
+        private long delay() {
+            return latencyNanos + (jitterNanos == 0 ? 0 : (long) (random.nextDouble() * jitterNanos));
+        }
+
+        private int deliverMessages(long time) {
+            if (messages.isEmpty() || messageTimes.peek() > time) {
+                return 0;
+            }
+            while (!messages.isEmpty() && messageTimes.peek() <= time) {
+                messageTimes.poll();
+                received.put(messages.poll());
+            }
+            int count = remoteGame.read(received.flip());
+            received.compact();
+            return count;
+        }
+
+        private void checkAcks() {
+            if (remoteGame.getTakenTurns() != seenTakenTurns) {
+                turnsTaken += remoteGame.getTakenTurns() - seenTakenTurns;
+                seenTakenTurns = remoteGame.getTakenTurns();
+                latestEarliness = remoteGame.getTurnEarliness();
+                if (latestEarliness < 0) {
+                    lateAcks++;
+                }
+            }
+        }
+
+        /**
+         * Keeps the prediction for the local tick if every turn made has been taken, so nothing is left to
+         * correct before the server plays the tick.
+         */
+        private void keepPrediction() {
+            SnakeModel snakeModel = predictedGame.getModel();
+            if (predictedGame.getUnconfirmedTurns() > 0 || !snakeModel.getIsRunning()) {
+                return;
+            }
+            long localTick = predictedGame.getLocalTick();
+            int slot = (int) (localTick % HISTORY);
+            predictedTicks[slot] = localTick;
+            predictedHeads[slot] = headCell(snakeModel);
+            predictedDirections[slot] = snakeModel.getDirection();
+            predictedGames[slot] = remoteGame.getFullStateCount();
+        }
+
+        /**
+         * Compares the prediction kept for the tick the server has just played, if it was made in the same game
+         * and the snake is still alive on the server.
+         */
+        private void checkPrediction() {
+            int slot = (int) (serverTick % HISTORY);
+            if (predictedTicks[slot] != serverTick || predictedGames[slot] != game || !serverModel.getIsRunning()) {
+                return;
+            }
+            assertEquals(headCell(serverModel), predictedHeads[slot], "The head on tick " + serverTick);
+            assertEquals(serverModel.getDirection(), predictedDirections[slot], "The direction on tick " + serverTick);
+            checkedTicks++;
+        }
+
+        private static int headCell(SnakeModel snakeModel) {
+            SnakeBody body = snakeModel.getSnakeBody();
+            return body.getY(0) * BOARD.getColumns() + body.getX(0);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * The PredictionHarness class plays a networked game through a {@link LaggyProxy} with a bot steering the
+ * client's {@link PredictedGame}, and measures how long a turn takes to show: on the client's prediction,
+ * and in the server's state as it comes back. The second is what a client without prediction would show.
+ * It also counts the corrections the prediction needed, and the turns that reached the server too late
+ * to be played on their tick.
+ * <p>
+ * Usage: {@code PredictionHarness [seconds] [delay ms] [jitter ms] [tick ms]}, by default 20 seconds with
+ * 50 ms of delay and 20 ms of jitter each way, at a tick every 50 milliseconds.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class PredictionHarness {
+    private static final BoardGeometry BOARD = new BoardGeometry(32, 24, 25);
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MEASURE_CAPACITY = 64;
+    private static final int MEASURE_MASK = MEASURE_CAPACITY - 1;
+
+    private final SocketChannel channel;
+    private final RemoteGame remoteGame = new RemoteGame();
+    private final SnakeBot bot = new GreedySnakeBot();
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer request = ByteBuffer.allocate(1 + VarInt.MAX_BYTES);
+    private final LatencyHistogram predictedLatency = new LatencyHistogram();
+    private final LatencyHistogram authoritativeLatency = new LatencyHistogram();
+    private PredictedGame predictedGame;
+
+    // The turns still being timed, numbered in the order they were made
+    private final long[] measureTicks = new long[MEASURE_CAPACITY];
+    private final long[] measureTimes = new long[MEASURE_CAPACITY];
+    private long firstMeasure;
+    private long nextMeasure;
+    private long predictedMeasure;
+
+    private int fullStateCount;
+    private long takenTurns;
+    private long turnsMade;
+    private long lateTurns;
+    private long games;
+    private boolean isStartSent;
+
+    private PredictionHarness(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Runs the harness and prints its results.
+     *
+     * @param args The duration in seconds, the delay and jitter each way in milliseconds, and the tick period
+     *             in milliseconds.
+     * @throws IOException If the server, the proxy or the client cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long delayMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        long jitterMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        long tickMillis = args.length > 3 ? Long.parseLong(args[3]) : 50;
+
+        GameServer server = new GameServer(BOARD, "easy", 0);
+        server.setTickPeriod(tickMillis * 1_000_000);
+        server.start();
+        LaggyProxy proxy = new LaggyProxy(0, new InetSocketAddress("localhost", server.getPort()),
+                delayMillis * 1_000_000, jitterMillis * 1_000_000, 42L);
+        proxy.start();
+
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", proxy.getPort()));
+        channel.socket().setTcpNoDelay(true);
+        PredictionHarness harness = new PredictionHarness(channel);
+        harness.play(seconds * 1_000_000_000L);
+        channel.close();
+        proxy.stop();
+        server.stop();
+
+        System.out.printf("delay %d ms, jitter %d ms each way, tick %d ms, %d games%n", delayMillis, jitterMillis,
+                tickMillis, harness.games);
+        harness.predictedLatency.writeReport(System.out, "turn to predicted state");
+        harness.authoritativeLatency.writeReport(System.out, "turn to server state");
+        System.out.printf("turns made         %d%n", harness.turnsMade);
+        System.out.printf("turns late         %d%n", harness.lateTurns);
+        System.out.printf("corrections        %d%n", harness.predictedGame.getCorrections());
+        System.out.printf("final lead         %d ticks%n", harness.predictedGame.getLead());
+    }
+
+    /**
+     * Plays on one thread: applies what has arrived, advances the prediction, and steers on each new local tick.
+     */
+    private void play(long duration) throws IOException {
+        while (!remoteGame.hasState()) {
+            if (channel.read(in) < 0) {
+                throw new IOException("The server closed the connection before sending the game");
+            }
+            in.flip();
+            remoteGame.read(in);
+            in.compact();
+        }
+        predictedGame = new PredictedGame(remoteGame, System.nanoTime());
+        fullStateCount = remoteGame.getFullStateCount();
+        games = 1;
+        channel.configureBlocking(false);
+
+        long end = System.nanoTime() + duration;
+        while (System.nanoTime() < end) {
+            int count = channel.read(in);
+            if (count < 0) {
+                throw new IOException("The server closed the connection");
+            }
+            long now = System.nanoTime();
+            if (count > 0) {
+                in.flip();
+                int messages = remoteGame.read(in);
+                in.compact();
+                if (messages > 0) {
+                    receive(now);
+                }
+            }
+            if (predictedGame.advance(now) > 0) {
+                measurePredicted(now);
+                steer(now);
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reconciles the prediction with newly arrived messages, and times the turns now in the server's state.
+     */
+    private void receive(long now) throws IOException {
+        predictedGame.reconcile(now);
+        if (remoteGame.getFullStateCount() != fullStateCount) {
+            // The turns being timed were for the last game
+            fullStateCount = remoteGame.getFullStateCount();
+            firstMeasure = nextMeasure;
+            predictedMeasure = nextMeasure;
+            games++;
+        }
+        if (remoteGame.getTakenTurns() != takenTurns) {
+            takenTurns = remoteGame.getTakenTurns();
+            if (remoteGame.getTurnEarliness() < 0) {
+                lateTurns++;
+            }
+        }
+        while (firstMeasure < nextMeasure && measureTicks[(int) (firstMeasure & MEASURE_MASK)] <= remoteGame.getTick()) {
+            authoritativeLatency.record(now - measureTimes[(int) (firstMeasure & MEASURE_MASK)]);
+            firstMeasure++;
+        }
+        predictedMeasure = Math.max(predictedMeasure, firstMeasure);
+        if (!remoteGame.getIsRunning() && !isStartSent) {
+            request.clear();
+            request.put(GameProtocol.START);
+            send();
+            isStartSent = true;
+        } else if (remoteGame.getIsRunning()) {
+            isStartSent = false;
+        }
+    }
+
+    /**
+     * Times the turns the prediction has now played.
+     */
+    private void measurePredicted(long now) {
+        while (predictedMeasure < nextMeasure
+                && measureTicks[(int) (predictedMeasure & MEASURE_MASK)] <= predictedGame.getLocalTick()) {
+            predictedLatency.record(now - measureTimes[(int) (predictedMeasure & MEASURE_MASK)]);
+            predictedMeasure++;
+        }
+    }
+
+    /**
+     * Lets the bot choose a direction for the next local tick, and makes it a turn if it differs.
+     */
+    private void steer(long now) throws IOException {
+        SnakeModel snakeModel = predictedGame.getModel();
+        if (!snakeModel.getIsRunning() || nextMeasure - firstMeasure == MEASURE_CAPACITY) {
+            return;
+        }
+        char direction = bot.chooseDirection(snakeModel);
+        if (direction == snakeModel.getDirection()) {
+            return;
+        }
+        long targetTick = predictedGame.turn(direction);
+        if (targetTick < 0) {
+            return;
+        }
+        int slot = (int) (nextMeasure & MEASURE_MASK);
+        measureTicks[slot] = targetTick;
+        measureTimes[slot] = now;
+        nextMeasure++;
+        turnsMade++;
+        request.clear();
+        GameProtocol.writeTurn(request, direction, targetTick);
+        send();
+    }
+
+    private void send() throws IOException {
+        request.flip();
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+    }
+}
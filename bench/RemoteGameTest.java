@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a {@link RemoteGame} follows a game from the messages a {@link GameServer} would send for it,
+ * and that it stops following a game whose ticks do not follow on from its state until it is sent the full
+ * state again.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class RemoteGameTest {
+    private static final String DIRECTIONS = "UDLR";
+    private static final long TICK_PERIOD_NANOS = 40_000_000L;
+
+    @Test
+    void followsPlayedGames() {
+        BoardGeometry geometry = new BoardGeometry(12, 10, 25);
+        Random random = new Random(8L);
+        SnakeBot bot = new GreedySnakeBot();
+        Server server = new Server(new SnakeModel(geometry, 21L));
+        RemoteGame remoteGame = new RemoteGame();
+        int games = 0;
+        int highestScore = 0;
+        server.snakeModel.startGame("medium");
+        server.sendFullState(remoteGame);
+        for (int i = 0; i < 3000; i++) {
+            if (!server.snakeModel.getIsRunning()) {
+                server.snakeModel.startGame("hard");
+                server.sendFullState(remoteGame);
+                games++;
+            }
+            char direction = random.nextInt(10) == 0
+                    ? DIRECTIONS.charAt(random.nextInt(4))
+                    : bot.chooseDirection(server.snakeModel);
+            server.step(direction);
+            server.sendTick(remoteGame);
+            assertSameState(server, remoteGame);
+            highestScore = Math.max(highestScore, server.snakeModel.getScore());
+        }
+        assertFalse(remoteGame.isOutOfSync());
+        assertEquals(games + 1, remoteGame.getFullStateCount());
+        assertTrue(games > 0, "No game ended, so a new game was never followed");
+        assertTrue(highestScore > 1, "No snake grew, so growth was never followed");
+    }
+
+    @Test
+    void ignoresTicksAfterMissedOneUntilFullState() {
+        Server server = new Server(new SnakeModel(new BoardGeometry(32, 24, 25), 4L));
+        RemoteGame remoteGame = new RemoteGame();
+        server.snakeModel.startGame("easy");
+        server.sendFullState(remoteGame);
+        server.step('R');
+        server.sendTick(remoteGame);
+        assertSameState(server, remoteGame);
+
+        // A tick lost on the way
+        server.step('D');
+        server.step('D');
+        server.sendTick(remoteGame);
+        assertTrue(remoteGame.isOutOfSync());
+        assertEquals(1, remoteGame.getTick());
+        assertEquals('R', remoteGame.getDirection());
+
+        // Even a tick that follows on from the client's state is ignored, as the state is behind the server's
+        ByteBuffer stale = ByteBuffer.allocate(64);
+        GameProtocol.writeTick(stale, server.snakeModel, 2);
+        remoteGame.read(stale.flip());
+        assertTrue(remoteGame.isOutOfSync());
+        assertEquals(1, remoteGame.getTick());
+
+        server.sendFullState(remoteGame);
+        assertFalse(remoteGame.isOutOfSync());
+        assertSameState(server, remoteGame);
+        server.step('L');
+        server.sendTick(remoteGame);
+        assertFalse(remoteGame.isOutOfSync());
+        assertSameState(server, remoteGame);
+    }
+
+    private static void assertSameState(Server server, RemoteGame remoteGame) {
+        SnakeModel snakeModel = server.snakeModel;
+        String where = "tick " + server.tick;
+        assertEquals(server.tick, remoteGame.getTick(), where);
+        SnakeBody body = snakeModel.getSnakeBody();
+        assertEquals(body.getLength(), remoteGame.getLength(), where);
+        for (int i = 0; i < body.getLength(); i++) {
+            assertEquals(body.getX(i), remoteGame.getX(i), "segment " + i + ", " + where);
+            assertEquals(body.getY(i), remoteGame.getY(i), "segment " + i + ", " + where);
+        }
+        assertEquals(snakeModel.getAppleX(), remoteGame.getAppleX(), where);
+        assertEquals(snakeModel.getAppleY(), remoteGame.getAppleY(), where);
+        assertEquals(snakeModel.getScore(), remoteGame.getScore(), where);
+        assertEquals(snakeModel.getDirection(), remoteGame.getDirection(), where);
+        assertEquals(snakeModel.getIsRunning(), remoteGame.getIsRunning(), where);
+        assertEquals(snakeModel.getDelay(), remoteGame.getDelay(), where);
+    }
+
+    /**
+     * A game played the way the server plays it, encoding the messages it would send.
+     */
+    private static class Server {
+        private final SnakeModel snakeModel;
+        private final ByteBuffer message;
+        private final ByteBuffer payload;
+        private final int[] cells;
+        private long tick;
+
+        private Server(SnakeModel snakeModel) {
+            this.snakeModel = snakeModel;
+            int size = GameProtocol.getMaxFullStateSize(snakeModel);
+            this.message = ByteBuffer.allocate(size);
+            this.payload = ByteBuffer.allocate(size);
+            this.cells = new int[snakeModel.getBodyCapacity()];
+        }
+
+        private void step(char direction) {
+            snakeModel.step(direction);
+            tick++;
+        }
+
+        private void sendFullState(RemoteGame remoteGame) {
+            message.clear();
+            GameProtocol.writeFullState(message, payload, snakeModel, tick, TICK_PERIOD_NANOS, cells);
+            assertEquals(1, remoteGame.read(message.flip()));
+        }
+
+        private void sendTick(RemoteGame remoteGame) {
+            message.clear();
+            GameProtocol.writeTick(message, snakeModel, tick);
+            assertEquals(1, remoteGame.read(message.flip()));
+        }
+    }
+}
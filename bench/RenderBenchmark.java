@@ -0,0 +1,118 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * The RenderBenchmark class measures how long SnakeView.paintComponent takes to paint one frame.
+ * The view is painted into an offscreen image under {@code java.awt.headless}, with snakes of
+ * increasing length and with the grid turned on and off. For each case it reports frame time
+ * percentiles and the number of bytes allocated per frame, and the median time of repainting a single
+ * cell, as done for the dirty regions of a tick. Painting the snake must not allocate,
+ * so the allocation per frame has to be the same for every snake length; the benchmark fails otherwise.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RenderBenchmark {
+    private static final int WARMUP_FRAMES = 2_000;
+    private static final int MEASURED_FRAMES = 5_000;
+
+    /**
+     * Runs the benchmark and prints one line per snake length and grid setting.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        BoardGeometry geometry = new BoardGeometry(32, 24, 25);
+        int[] cycle = Benchmarks.boardCycle(geometry);
+        char[] directions = Benchmarks.cycleDirections(cycle, geometry.getColumns());
+
+        System.out.printf("%7s %5s %10s %10s %10s %10s %14s %12s%n", "length", "grid", "p50 us", "p90 us", "p99 us", "max us", "bytes/frame", "cell p50 us");
+        double fewestBytes = Double.MAX_VALUE;
+        double mostBytes = 0;
+        for (int length : Benchmarks.snakeLengths(geometry.getCellCount())) {
+            for (boolean isShowingGrid : new boolean[]{false, true}) {
+                SnakeModel snakeModel = new SnakeModel(geometry, 1L);
+                snakeModel.startGame("easy");
+                snakeModel.placeSnake(Benchmarks.snakeAlongCycle(cycle, length), directions[length - 1]);
+
+                SnakeView snakeView = new SnakeView(geometry, false);
+                snakeView.setSnakeBody(snakeModel.getSnakeBody());
+                snakeView.setAppleX(snakeModel.getAppleX());
+                snakeView.setAppleY(snakeModel.getAppleY());
+                snakeView.setScore(snakeModel.getScore());
+                snakeView.setIsRunning(true);
+                snakeView.setShowingGrid(isShowingGrid);
+
+                FrameStats stats = measure(snakeView, geometry, null);
+                int unitSize = geometry.getUnitSize();
+                FrameStats cellStats = measure(snakeView, geometry, new Rectangle(snakeModel.getSnakeBody().getX(0) * unitSize,
+                        snakeModel.getSnakeBody().getY(0) * unitSize, unitSize, unitSize));
+                System.out.printf("%7d %5s %10.1f %10.1f %10.1f %10.1f %14.1f %12.1f%n", length, isShowingGrid ? "on" : "off",
+                        stats.percentile(0.50), stats.percentile(0.90), stats.percentile(0.99), stats.percentile(1.0),
+                        stats.bytesPerFrame, cellStats.percentile(0.50));
+                fewestBytes = Math.min(fewestBytes, stats.bytesPerFrame);
+                mostBytes = Math.max(mostBytes, stats.bytesPerFrame);
+            }
+        }
+
+        // The first frames of the first case may still allocate caches, so allow a little noise
+        double snakeBytes = mostBytes - fewestBytes;
+        System.out.printf("Allocation that grows with the snake: %.1f bytes/frame%n", snakeBytes);
+        if (snakeBytes > 64) {
+            System.out.println("FAILED: painting the snake allocates");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Paints the view repeatedly into an offscreen image, recording the time and allocation of each frame.
+     * A clip limits painting to that region, like a repaint of a dirty region; null paints the whole panel.
+     */
+    private static FrameStats measure(SnakeView snakeView, BoardGeometry geometry, Rectangle clip) {
+        BufferedImage image = new BufferedImage(geometry.getWidth(), geometry.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        if (clip != null) {
+            g.setClip(clip);
+        }
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            snakeView.paintComponent(g);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] frameNanos = new long[MEASURED_FRAMES];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            snakeView.paintComponent(g);
+            frameNanos[i] = System.nanoTime() - start;
+        }
+        long allocatedAfter = threads.getThreadAllocatedBytes(threadId);
+        g.dispose();
+
+        Arrays.sort(frameNanos);
+        return new FrameStats(frameNanos, (double) (allocatedAfter - allocatedBefore) / MEASURED_FRAMES);
+    }
+
+    /**
+     * Sorted frame times and the average allocation of one measured case.
+     */
+    private static class FrameStats {
+        private final long[] sortedFrameNanos;
+        private final double bytesPerFrame;
+
+        private FrameStats(long[] sortedFrameNanos, double bytesPerFrame) {
+            this.sortedFrameNanos = sortedFrameNanos;
+            this.bytesPerFrame = bytesPerFrame;
+        }
+
+        private double percentile(double fraction) {
+            int index = (int) Math.ceil(fraction * sortedFrameNanos.length) - 1;
+            return sortedFrameNanos[Math.max(0, index)] / 1e3;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a game recorded by {@link ReplayRecorder} plays back through {@link ReplayPlayer} exactly as it
+ * was played, tick by tick, and that a recording that is cut short or malformed is refused.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class ReplayPlayerTest {
+    private static final String DIRECTIONS = "UDLR";
+
+    @Test
+    void playsBackGamesToTheirEnd() {
+        BoardGeometry geometry = new BoardGeometry(12, 10, 25);
+        Random random = new Random(17L);
+        int turns = 0;
+        for (int game = 0; game < 20; game++) {
+            Recording recording = record(geometry, "medium", random.nextLong(), random, 100_000);
+            assertFalse(recording.states.get(recording.states.size() - 1).isRunning, "The game did not end");
+            turns += checkPlayback(recording);
+        }
+        assertTrue(turns > 100, "The games hardly turned, so direction changes were barely played back");
+    }
+
+    @Test
+    void playsBackGamesStoppedWhileRunning() {
+        BoardGeometry geometry = new BoardGeometry(32, 24, 25);
+        Random random = new Random(3L);
+        for (int ticks : new int[]{0, 1, 2, 37, 500}) {
+            Recording recording = record(geometry, "hard", random.nextLong(), random, ticks);
+            checkPlayback(recording);
+        }
+    }
+
+    @Test
+    void refusesTruncatedReplays() {
+        Recording recording = record(new BoardGeometry(12, 10, 25), "easy", 5L, new Random(5L), 300);
+        byte[] replay = recording.replay;
+        for (int length = 0; length < replay.length; length++) {
+            byte[] truncated = Arrays.copyOf(replay, length);
+            assertThrows(IllegalArgumentException.class, () -> new ReplayPlayer(truncated).playToEnd(),
+                    "cut to " + length + " of " + replay.length + " bytes");
+        }
+    }
+
+    @Test
+    void refusesOverlongVarints() {
+        Recording recording = record(new BoardGeometry(12, 10, 25), "easy", 9L, new Random(9L), 300);
+        byte[] replay = recording.replay;
+        // The columns, the first varint, after the magic and the version
+        byte[] header = Arrays.copyOf(replay, replay.length + VarInt.MAX_BYTES);
+        Arrays.fill(header, 5, 5 + VarInt.MAX_BYTES + 1, (byte) 0x80);
+        assertThrows(IllegalArgumentException.class, () -> new ReplayPlayer(header));
+
+        // The end of the changes, the varint before the last one
+        byte[] changes = Arrays.copyOf(replay, replay.length + VarInt.MAX_BYTES);
+        int end = replay.length - 2;
+        assertEquals(0, replay[end]);
+        Arrays.fill(changes, end, end + VarInt.MAX_BYTES + 1, (byte) 0x80);
+        assertThrows(IllegalArgumentException.class, () -> new ReplayPlayer(changes).playToEnd());
+    }
+
+    /**
+     * Plays back a recording and compares the model with the recorded game after every tick.
+     *
+     * @return The number of ticks the snake turned on.
+     */
+    private static int checkPlayback(Recording recording) {
+        ReplayPlayer player = new ReplayPlayer(recording.replay);
+        assertEquals(recording.geometry.getColumns(), player.getGeometry().getColumns());
+        assertEquals(recording.geometry.getRows(), player.getGeometry().getRows());
+        assertEquals(recording.geometry.getUnitSize(), player.getGeometry().getUnitSize());
+        assertEquals(recording.difficulty, player.getDifficulty());
+        assertEquals(recording.seed, player.getSeed());
+
+        int turns = 0;
+        char direction = player.getModel().getDirection();
+        assertState(recording.states.get(0), player.getModel(), 0);
+        for (int tick = 1; tick < recording.states.size(); tick++) {
+            assertTrue(player.step(), "The replay ended early, at tick " + tick);
+            assertEquals(tick, player.getTick());
+            assertState(recording.states.get(tick), player.getModel(), tick);
+            if (player.getModel().getDirection() != direction) {
+                direction = player.getModel().getDirection();
+                turns++;
+            }
+        }
+        assertFalse(player.step(), "The replay ran past the recording");
+        assertEquals(recording.states.size() - 1, player.getTick());
+
+        SnakeModel restarted = player.start();
+        assertEquals(0, player.getTick());
+        assertState(recording.states.get(0), restarted, 0);
+        assertState(recording.states.get(recording.states.size() - 1), player.playToEnd(), recording.states.size() - 1);
+        return turns;
+    }
+
+    private static void assertState(State expected, SnakeModel snakeModel, int tick) {
+        String where = "tick " + tick;
+        assertArrayEquals(expected.body, bodyCells(snakeModel), where);
+        assertEquals(expected.appleX, snakeModel.getAppleX(), where);
+        assertEquals(expected.appleY, snakeModel.getAppleY(), where);
+        assertEquals(expected.score, snakeModel.getScore(), where);
+        assertEquals(expected.direction, snakeModel.getDirection(), where);
+        assertEquals(expected.isRunning, snakeModel.getIsRunning(), where);
+        assertEquals(expected.gameOverCause, snakeModel.getGameOverCause(), where);
+    }
+
+    /**
+     * Plays a seeded game the way the controller records one, steered by a greedy bot and sometimes at random,
+     * until it ends or has played the given number of ticks, keeping the state after every tick.
+     */
+    private static Recording record(BoardGeometry geometry, String difficulty, long seed, Random random, int maxTicks) {
+        SnakeModel snakeModel = new SnakeModel(geometry, random.nextLong());
+        snakeModel.startGame(difficulty, seed);
+        ReplayRecorder recorder = new ReplayRecorder(geometry, difficulty, seed);
+        SnakeBot bot = new GreedySnakeBot();
+        List<State> states = new ArrayList<>();
+        states.add(new State(snakeModel));
+        for (long tick = 1; tick <= maxTicks && snakeModel.getIsRunning(); tick++) {
+            char direction = random.nextInt(8) == 0
+                    ? DIRECTIONS.charAt(random.nextInt(4))
+                    : bot.chooseDirection(snakeModel);
+            snakeModel.step(direction);
+            recorder.recordTick(tick, snakeModel.getDirection());
+            states.add(new State(snakeModel));
+        }
+        assertEquals(states.size() - 1, recorder.getTickCount());
+        return new Recording(geometry, difficulty, seed, recorder.toByteArray(), states);
+    }
+
+    private static int[] bodyCells(SnakeModel snakeModel) {
+        int[] cells = new int[snakeModel.getBodyCapacity()];
+        return Arrays.copyOf(cells, snakeModel.copyBodyCells(cells));
+    }
+
+    /**
+     * A recorded game, with the state of the model after every tick from the start.
+     */
+    private static class Recording {
+        private final BoardGeometry geometry;
+        private final String difficulty;
+        private final long seed;
+        private final byte[] replay;
+        private final List<State> states;
+
+        private Recording(BoardGeometry geometry, String difficulty, long seed, byte[] replay, List<State> states) {
+            this.geometry = geometry;
+            this.difficulty = difficulty;
+            this.seed = seed;
+            this.replay = replay;
+            this.states = states;
+        }
+    }
+
+    /**
+     * The state of a model after a tick.
+     */
+    private static class State {
+        private final int[] body;
+        private final int appleX;
+        private final int appleY;
+        private final int score;
+        private final char direction;
+        private final boolean isRunning;
+        private final String gameOverCause;
+
+        private State(SnakeModel snakeModel) {
+            this.body = bodyCells(snakeModel);
+            this.appleX = snakeModel.getAppleX();
+            this.appleY = snakeModel.getAppleY();
+            this.score = snakeModel.getScore();
+            this.direction = snakeModel.getDirection();
+            this.isRunning = snakeModel.getIsRunning();
+            this.gameOverCause = snakeModel.getGameOverCause();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * The ServerLoadTest class starts a {@link GameServer} in-process and connects a number of bot clients to it,
+ * to measure how many ticks per second the server keeps up with and how many bytes it sends each client.
+ * All the bots run on one thread with a selector of their own. Each keeps a {@link RemoteGame} from the
+ * stream, steers towards the apple while avoiding the walls and the body, and asks for a new game when
+ * one ends, so the stream carries full states as well as ticks.
+ * <p>
+ * Usage: {@code ServerLoadTest [clients] [seconds] [tick microseconds]}, by default 200 clients
+ * for 5 seconds at a tick every millisecond.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ServerLoadTest {
+    private static final BoardGeometry BOARD = new BoardGeometry(32, 24, 25);
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Runs the load test and prints its results.
+     *
+     * @param args The number of clients, the duration in seconds, and the tick period in microseconds.
+     * @throws IOException If the server or a client cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long tickMicros = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        GameServer server = new GameServer(BOARD, "easy", 0);
+        server.setTickPeriod(tickMicros * 1000);
+        server.start();
+
+        Selector selector = Selector.open();
+        Bot[] bots = new Bot[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.getPort()));
+            channel.socket().setTcpNoDelay(true);
+            channel.configureBlocking(false);
+            bots[i] = new Bot(channel);
+            channel.register(selector, SelectionKey.OP_READ, bots[i]);
+        }
+
+        long startTick = server.getTick();
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long startBytes = 0;
+        for (Bot bot : bots) {
+            startBytes += bot.bytesReceived;
+        }
+        while (System.nanoTime() < end) {
+            selector.select(10);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                ((Bot) key.attachment()).receive(key);
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long ticks = server.getTick() - startTick;
+        int connected = server.getClientCount();
+
+        long bytes = -startBytes;
+        long maxLag = 0;
+        int fullStates = 0;
+        for (Bot bot : bots) {
+            bytes += bot.bytesReceived;
+            maxLag = Math.max(maxLag, server.getTick() - bot.remoteGame.getTick());
+            fullStates += bot.remoteGame.getFullStateCount();
+        }
+        server.stop();
+        selector.close();
+
+        System.out.printf("clients            %d (%d still connected)%n", clientCount, connected);
+        System.out.printf("target ticks/s     %.1f%n", 1e6 / tickMicros);
+        System.out.printf("server ticks/s     %.1f%n", ticks / elapsed);
+        System.out.printf("bytes/s per client %.1f%n", bytes / elapsed / clientCount);
+        System.out.printf("bytes per tick     %.2f%n", ticks == 0 ? 0.0 : (double) bytes / clientCount / ticks);
+        System.out.printf("full states        %.1f per client%n", (double) fullStates / clientCount);
+        System.out.printf("max client lag     %d ticks%n", maxLag);
+    }
+
+    /**
+     * A bot client: reads the stream into its copy of the game and steers it.
+     */
+    private static class Bot {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer request = ByteBuffer.allocate(1 + VarInt.MAX_BYTES);
+        private final RemoteGame remoteGame = new RemoteGame();
+        private long bytesReceived;
+        private char lastSent;
+        private boolean isStartSent;
+
+        private Bot(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void receive(SelectionKey key) {
+            try {
+                int count = channel.read(in);
+                if (count < 0) {
+                    key.cancel();
+                    return;
+                }
+                bytesReceived += count;
+                in.flip();
+                int messages = remoteGame.read(in);
+                in.compact();
+                if (messages > 0) {
+                    steer();
+                }
+            } catch (IOException e) {
+                key.cancel();
+            }
+        }
+
+        private void steer() throws IOException {
+            if (!remoteGame.getIsRunning()) {
+                if (!isStartSent) {
+                    request.clear();
+                    request.put(GameProtocol.START);
+                    send();
+                    isStartSent = true;
+                }
+                return;
+            }
+            isStartSent = false;
+            int column = remoteGame.getX(0);
+            int row = remoteGame.getY(0);
+            char best = 0;
+            int bestDistance = Integer.MAX_VALUE;
+            for (char direction : GameProtocol.DIRECTIONS.toCharArray()) {
+                int nextColumn = column + (direction == 'R' ? 1 : direction == 'L' ? -1 : 0);
+                int nextRow = row + (direction == 'D' ? 1 : direction == 'U' ? -1 : 0);
+                if (remoteGame.isBlocked(nextColumn, nextRow)) {
+                    continue;
+                }
+                int distance = Math.abs(nextColumn - remoteGame.getAppleX()) + Math.abs(nextRow - remoteGame.getAppleY());
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = direction;
+                }
+            }
+            if (best != 0 && best != lastSent) {
+                request.clear();
+                GameProtocol.writeTurn(request, best, remoteGame.getTick() + 1);
+                send();
+                lastSent = best;
+            }
+        }
+
+        private void send() throws IOException {
+            channel.write(request.flip());
+        }
+    }
+}
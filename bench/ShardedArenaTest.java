@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a {@link ShardedArena} plays out exactly as a single-threaded {@link ArenaEngine} with the same
+ * seed, spawns and directions, whatever the number of shards, so a change to either cannot quietly make
+ * them drift apart.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class ShardedArenaTest {
+    private static final String DIRECTIONS = "UDLR";
+    private static final BoardGeometry BOARD = new BoardGeometry(24, 10, 25);
+
+    @Test
+    void playsLikeEngineOnOneShard() {
+        checkEquivalence(1, 41L);
+    }
+
+    @Test
+    void playsLikeEngineOnSeveralShards() {
+        checkEquivalence(2, 42L);
+        checkEquivalence(3, 43L);
+        checkEquivalence(7, 44L);
+    }
+
+    @Test
+    void playsLikeEngineOnOneShardPerRow() {
+        checkEquivalence(BOARD.getRows(), 45L);
+    }
+
+    @Test
+    void playsLikeEngineOnMoreShardsThanRows() {
+        checkEquivalence(BOARD.getRows() + 6, 46L);
+    }
+
+    @Test
+    void rejectsNoShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedArena(BOARD, 10, 4, 1L, 0));
+    }
+
+    /**
+     * Steps an engine and a sharded arena with the same random spawns and directions, and compares every
+     * snake slot and apple after every tick.
+     */
+    private static void checkEquivalence(int shards, long seed) {
+        int maxSnakes = 60;
+        int appleCount = 12;
+        ArenaEngine engine = new ArenaEngine(BOARD, maxSnakes, appleCount, seed);
+        Random random = new Random(seed);
+        int deaths = 0;
+        int highestScore = 0;
+        try (ShardedArena sharded = new ShardedArena(BOARD, maxSnakes, appleCount, seed, shards)) {
+            assertEquals(Math.min(shards, BOARD.getRows()), sharded.getShardCount());
+            ArenaEngine arena = sharded.getArena();
+            for (int tick = 0; tick < 2000; tick++) {
+                while (engine.getAliveCount() < maxSnakes / 2 || random.nextInt(4) == 0) {
+                    int spawned = engine.spawnSnake();
+                    assertEquals(spawned, sharded.spawnSnake(), "spawn before tick " + tick);
+                    if (spawned < 0) {
+                        break;
+                    }
+                }
+                for (int snake = 0; snake < maxSnakes; snake++) {
+                    if (engine.isAlive(snake) && random.nextInt(3) == 0) {
+                        char direction = DIRECTIONS.charAt(random.nextInt(4));
+                        engine.setDirection(snake, direction);
+                        sharded.setDirection(snake, direction);
+                    }
+                }
+                int aliveBefore = engine.getAliveCount();
+                engine.step();
+                sharded.step();
+                deaths += aliveBefore - engine.getAliveCount();
+                assertSameState(engine, arena, sharded, tick);
+                for (int snake = 0; snake < maxSnakes; snake++) {
+                    if (engine.isAlive(snake)) {
+                        highestScore = Math.max(highestScore, engine.getScore(snake));
+                    }
+                }
+            }
+        }
+        assertTrue(deaths > 100, "Few snakes died, so collisions were barely compared");
+        assertTrue(highestScore > 1, "No snake grew, so growth was never compared");
+    }
+
+    private static void assertSameState(ArenaEngine engine, ArenaEngine arena, ShardedArena sharded, int tick) {
+        String where = shardsAt(sharded, tick);
+        assertEquals(engine.getTick(), arena.getTick(), where);
+        assertEquals(engine.getAliveCount(), arena.getAliveCount(), where);
+        int members = 0;
+        for (int shard = 0; shard < sharded.getShardCount(); shard++) {
+            members += sharded.getShardSize(shard);
+        }
+        assertEquals(arena.getAliveCount(), members, "shard members, " + where);
+        for (int snake = 0; snake < engine.getMaxSnakes(); snake++) {
+            String which = "snake " + snake + ", " + where;
+            assertEquals(engine.isAlive(snake), arena.isAlive(snake), which);
+            if (!engine.isAlive(snake)) {
+                continue;
+            }
+            assertEquals(engine.getHeadCell(snake), arena.getHeadCell(snake), which);
+            assertEquals(engine.getLength(snake), arena.getLength(snake), which);
+            assertEquals(engine.getScore(snake), arena.getScore(snake), which);
+            assertEquals(engine.getDirection(snake), arena.getDirection(snake), which);
+        }
+        for (int apple = 0; apple < engine.getAppleCount(); apple++) {
+            assertEquals(engine.getAppleCell(apple), arena.getAppleCell(apple), "apple " + apple + ", " + where);
+        }
+    }
+
+    private static String shardsAt(ShardedArena sharded, int tick) {
+        return sharded.getShardCount() + " shards at tick " + tick;
+    }
+}
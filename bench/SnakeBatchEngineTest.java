@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link SnakeBatchEngine} plays every game exactly like a {@link SnakeModel} with the same seed,
+ * given the same directions, so an optimisation of either engine cannot quietly make them drift apart.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class SnakeBatchEngineTest {
+    private static final String DIRECTIONS = "UDLR";
+
+    @Test
+    void playsLikeSnakeModelOnSmallBoard() {
+        checkEquivalence(new BoardGeometry(8, 6, 25), 1000, 3000, 99L);
+    }
+
+    @Test
+    void playsLikeSnakeModelOnDefaultBoard() {
+        checkEquivalence(new BoardGeometry(32, 24, 25), 200, 3000, 7L);
+    }
+
+    @Test
+    void playsLikeSnakeModelOnOddBoard() {
+        checkEquivalence(new BoardGeometry(5, 3, 25), 500, 1000, 3L);
+    }
+
+    @Test
+    void rejectsBatchesTooLargeForAnArray() {
+        BoardGeometry geometry = new BoardGeometry(4096, 4096, 1);
+        assertThrows(IllegalArgumentException.class, () -> new SnakeBatchEngine(geometry, 200));
+        assertThrows(IllegalArgumentException.class, () -> new SnakeBatchEngine(geometry, -1));
+    }
+
+    /**
+     * Steps every game in the engine and in a model of its own with the same directions, mostly from a
+     * greedy bot and sometimes at random so games also end on walls and on the body, restarting games that
+     * end, and compares the full state of each after every tick.
+     */
+    private static void checkEquivalence(BoardGeometry geometry, int games, int ticks, long baseSeed) {
+        SnakeBatchEngine engine = new SnakeBatchEngine(geometry, games);
+        engine.resetAll(baseSeed);
+        SnakeModel[] models = new SnakeModel[games];
+        for (int game = 0; game < games; game++) {
+            models[game] = new SnakeModel(geometry, BatchSimulator.gameSeed(baseSeed, game));
+            models[game].startGame("easy");
+        }
+
+        SnakeBot bot = new GreedySnakeBot();
+        Random random = new Random(baseSeed);
+        char[] directions = new char[games];
+        int gamesOver = 0;
+        int highestScore = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int game = 0; game < games; game++) {
+                if (!engine.isRunning(game)) {
+                    long seed = random.nextLong();
+                    engine.reset(game, seed);
+                    models[game] = new SnakeModel(geometry, seed);
+                    models[game].startGame("easy");
+                    gamesOver++;
+                }
+                directions[game] = random.nextInt(10) == 0
+                        ? DIRECTIONS.charAt(random.nextInt(4))
+                        : bot.chooseDirection(models[game]);
+            }
+            engine.step(directions);
+            for (int game = 0; game < games; game++) {
+                models[game].step(directions[game]);
+                assertSameState(models[game], engine, game, tick);
+                highestScore = Math.max(highestScore, engine.getScore(game));
+            }
+        }
+        assertTrue(gamesOver > 0, "No game ended, so game over was never compared");
+        assertTrue(highestScore > 1, "No snake grew, so growth was never compared");
+    }
+
+    private static void assertSameState(SnakeModel snakeModel, SnakeBatchEngine engine, int game, int tick) {
+        String where = "game " + game + " at tick " + tick;
+        assertEquals(snakeModel.getIsRunning(), engine.isRunning(game), where);
+        assertEquals(snakeModel.getScore(), engine.getScore(game), where);
+        assertEquals(snakeModel.getDirection(), engine.getDirection(game), where);
+        assertEquals(snakeModel.getAppleX(), engine.getAppleX(game), where);
+        assertEquals(snakeModel.getAppleY(), engine.getAppleY(game), where);
+        SnakeBody snakeBody = snakeModel.getSnakeBody();
+        assertEquals(snakeBody.getLength(), engine.getLength(game), where);
+        for (int i = 0; i < snakeBody.getLength(); i++) {
+            if (snakeBody.getX(i) != engine.getX(game, i) || snakeBody.getY(i) != engine.getY(game, i)) {
+                assertEquals(snakeBody.getX(i) + "," + snakeBody.getY(i), engine.getX(game, i) + "," + engine.getY(game, i),
+                        "segment " + i + " of " + where);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link SnapshotCodec} reads back every state it writes of a {@link SnakeModel}, header and body,
+ * in either byte order and in heap and direct buffers, and that it rejects a state whose header or runs
+ * could not have been written from a game on the board.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+class SnapshotCodecTest {
+    private static final String DIRECTIONS = "UDLR";
+    private static final long TICK_PERIOD_NANOS = 40_000_000L;
+    // Where the state starts in the buffer, so offsets from the start of the state are tested too
+    private static final int BASE = 7;
+    private static final List<IntFunction<ByteBuffer>> ALLOCATORS = List.of(ByteBuffer::allocate, ByteBuffer::allocateDirect);
+
+    @Test
+    void readsBackPlayedGames() {
+        BoardGeometry geometry = new BoardGeometry(8, 6, 25);
+        SnakeBot bot = new GreedySnakeBot();
+        Random random = new Random(5L);
+        SnakeModel snakeModel = new SnakeModel(geometry, 11L);
+        snakeModel.startGame("medium");
+        int games = 0;
+        int highestScore = 0;
+        for (long tick = 0; tick < 3000; tick++) {
+            if (!snakeModel.getIsRunning()) {
+                snakeModel = new SnakeModel(geometry, random.nextLong());
+                snakeModel.startGame("easy");
+                games++;
+            }
+            checkRoundTrip(snakeModel, tick);
+            char direction = random.nextInt(10) == 0
+                    ? DIRECTIONS.charAt(random.nextInt(4))
+                    : bot.chooseDirection(snakeModel);
+            snakeModel.step(direction);
+            highestScore = Math.max(highestScore, snakeModel.getScore());
+        }
+        checkRoundTrip(snakeModel, 3000);
+        assertTrue(games > 0, "No game ended, so a finished game was never read back");
+        assertTrue(highestScore > 1, "No snake grew, so a tail stacked by growing was never read back");
+    }
+
+    @Test
+    void readsBackTailStackedAtStart() {
+        SnakeModel snakeModel = new SnakeModel(new BoardGeometry(32, 24, 25), 3L);
+        snakeModel.startGame("hard");
+        ByteBuffer written = checkRoundTrip(snakeModel, 0);
+        assertEquals(0, SnapshotCodec.getSize(written, BASE) - SnapshotCodec.HEADER_SIZE);
+        assertEquals(snakeModel.getSnakeBody().getLength() - 1, written.getInt(BASE + SnapshotCodec.STACKED_OFFSET));
+    }
+
+    @Test
+    void readsBackRunsLongerThanOneByteHolds() {
+        BoardGeometry geometry = new BoardGeometry(150, 4, 25);
+        int[] cycle = Benchmarks.boardCycle(geometry);
+        char[] directions = Benchmarks.cycleDirections(cycle, geometry.getColumns());
+        SnakeModel snakeModel = new SnakeModel(geometry, 1L);
+        snakeModel.startGame("easy");
+        for (int length : new int[]{64, 65, 66, 129, 150, 200, geometry.getCellCount()}) {
+            snakeModel.placeSnake(Benchmarks.snakeAlongCycle(cycle, length), directions[length - 1]);
+            checkRoundTrip(snakeModel, length);
+        }
+    }
+
+    @Test
+    void readsBackBodyOfOneSegment() {
+        SnakeModel snakeModel = new SnakeModel(new BoardGeometry(8, 6, 25), 1L);
+        snakeModel.startGame("easy");
+        snakeModel.placeSnake(new int[]{8 * 3 + 5}, 'L');
+        ByteBuffer written = checkRoundTrip(snakeModel, 1);
+        assertEquals(1, SnapshotCodec.getLength(written, BASE));
+        assertEquals(SnapshotCodec.HEADER_SIZE, SnapshotCodec.getSize(written, BASE));
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        SnakeModel snakeModel = new SnakeModel(new BoardGeometry(8, 6, 25), 1L);
+        snakeModel.startGame("easy");
+        snakeModel.placeSnake(new int[]{8 + 3, 8 + 2, 8 + 1, 1, 1}, 'R');
+        int[] cells = new int[snakeModel.getBodyCapacity()];
+
+        assertMalformed(snakeModel, cells, SnapshotCodec.LENGTH_OFFSET, cells.length + 1);
+        assertMalformed(snakeModel, cells, SnapshotCodec.LENGTH_OFFSET, -1);
+        assertMalformed(snakeModel, cells, SnapshotCodec.LENGTH_OFFSET, Integer.MAX_VALUE);
+        assertMalformed(snakeModel, cells, SnapshotCodec.STACKED_OFFSET, -1);
+        assertMalformed(snakeModel, cells, SnapshotCodec.STACKED_OFFSET, 5);
+        assertMalformed(snakeModel, cells, SnapshotCodec.STACKED_OFFSET, 3);
+        assertMalformed(snakeModel, cells, SnapshotCodec.RUN_COUNT_OFFSET, -1);
+        assertMalformed(snakeModel, cells, SnapshotCodec.RUN_COUNT_OFFSET, 5);
+        assertMalformed(snakeModel, cells, SnapshotCodec.RUN_COUNT_OFFSET, Integer.MAX_VALUE);
+        assertMalformed(snakeModel, cells, SnapshotCodec.HEAD_CELL_OFFSET, -1);
+        assertMalformed(snakeModel, cells, SnapshotCodec.HEAD_CELL_OFFSET, 8 * 6);
+
+        // The runs step left twice then up once; from column 1 the leftward run crosses the board's edge
+        assertMalformed(snakeModel, cells, SnapshotCodec.HEAD_CELL_OFFSET, 8 + 1);
+        // From the top row the runs step up off the board
+        assertMalformed(snakeModel, cells, SnapshotCodec.HEAD_CELL_OFFSET, 3);
+        // Fewer runs than the body needs, and more runs than the bytes the buffer holds
+        assertMalformed(snakeModel, cells, SnapshotCodec.RUN_COUNT_OFFSET, 1);
+        ByteBuffer truncated = write(snakeModel, ByteBuffer::allocate, ByteOrder.BIG_ENDIAN, cells);
+        truncated.limit(BASE + SnapshotCodec.HEADER_SIZE + 1);
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(truncated, BASE, new int[cells.length]));
+        // A body too long for the array read into
+        ByteBuffer written = write(snakeModel, ByteBuffer::allocate, ByteOrder.BIG_ENDIAN, cells);
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(written, BASE, new int[4]));
+    }
+
+    @Test
+    void rejectsMalformedRuns() {
+        BoardGeometry geometry = new BoardGeometry(8, 6, 25);
+        SnakeModel snakeModel = new SnakeModel(geometry, 1L);
+        snakeModel.startGame("easy");
+        // The head on the last column, with the body running left from it
+        snakeModel.placeSnake(new int[]{8 + 7, 8 + 6, 8 + 5}, 'R');
+        int[] cells = new int[snakeModel.getBodyCapacity()];
+        ByteBuffer written = write(snakeModel, ByteBuffer::allocate, ByteOrder.BIG_ENDIAN, cells);
+        int run = BASE + SnapshotCodec.HEADER_SIZE;
+        assertEquals(1, SnapshotCodec.getSize(written, BASE) - SnapshotCodec.HEADER_SIZE);
+
+        // Two steps right from the last column would wrap onto the next row
+        written.put(run, (byte) ((1 << 2) | DIRECTIONS.indexOf('R')));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(written, BASE, new int[cells.length]));
+        // Two steps down from the second row stay on the board, and make the body the header says
+        written.put(run, (byte) ((1 << 2) | DIRECTIONS.indexOf('D')));
+        SnapshotCodec.readBody(written, BASE, new int[cells.length]);
+        // Three steps are longer than the body
+        written.put(run, (byte) ((2 << 2) | DIRECTIONS.indexOf('L')));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(written, BASE, new int[cells.length]));
+        // One step is shorter than the body
+        written.put(run, (byte) DIRECTIONS.indexOf('L'));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(written, BASE, new int[cells.length]));
+        // Two steps up from the second row leave the board
+        written.put(run, (byte) ((1 << 2) | DIRECTIONS.indexOf('U')));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(written, BASE, new int[cells.length]));
+    }
+
+    /**
+     * Writes a model's state in each byte order, to heap and direct buffers, and checks that every header
+     * field and the body read back as the model has them.
+     *
+     * @return The state as written to a big-endian heap buffer.
+     */
+    private static ByteBuffer checkRoundTrip(SnakeModel snakeModel, long tick) {
+        int[] cells = new int[snakeModel.getBodyCapacity()];
+        int length = snakeModel.copyBodyCells(cells);
+        int[] expected = new int[length];
+        System.arraycopy(cells, 0, expected, 0, length);
+
+        ByteBuffer first = null;
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            for (IntFunction<ByteBuffer> allocator : ALLOCATORS) {
+                ByteBuffer buffer = write(snakeModel, allocator, order, cells, tick);
+                String where = "tick " + tick + ", " + order + (buffer.isDirect() ? ", direct" : ", heap");
+                assertEquals(BASE + SnapshotCodec.getSize(buffer, BASE), buffer.position(), where);
+                assertHeader(snakeModel, buffer, tick, where);
+
+                int[] read = new int[snakeModel.getBodyCapacity()];
+                SnapshotCodec.readBody(buffer, BASE, read);
+                int[] actual = new int[length];
+                System.arraycopy(read, 0, actual, 0, length);
+                assertArrayEquals(expected, actual, where);
+                if (first == null) {
+                    first = buffer;
+                }
+            }
+        }
+        return first;
+    }
+
+    private static void assertHeader(SnakeModel snakeModel, ByteBuffer buffer, long tick, String where) {
+        BoardGeometry geometry = snakeModel.getGeometry();
+        assertEquals(tick, SnapshotCodec.getTick(buffer, BASE), where);
+        assertEquals(geometry.getColumns(), SnapshotCodec.getColumns(buffer, BASE), where);
+        assertEquals(geometry.getRows(), SnapshotCodec.getRows(buffer, BASE), where);
+        assertEquals(geometry.getUnitSize(), SnapshotCodec.getUnitSize(buffer, BASE), where);
+        assertEquals(snakeModel.getScore(), SnapshotCodec.getScore(buffer, BASE), where);
+        assertEquals(snakeModel.getHeadSerial(), SnapshotCodec.getHeadSerial(buffer, BASE), where);
+        assertEquals(snakeModel.getAppleY() * geometry.getColumns() + snakeModel.getAppleX(),
+                SnapshotCodec.getAppleCell(buffer, BASE), where);
+        assertEquals(snakeModel.getIsRunning(), SnapshotCodec.getIsRunning(buffer, BASE), where);
+        assertEquals(snakeModel.getDirection(), SnapshotCodec.getDirection(buffer, BASE), where);
+        assertEquals(snakeModel.getDelay(), SnapshotCodec.getDelay(buffer, BASE), where);
+        assertEquals(snakeModel.getDelayStep(), SnapshotCodec.getDelayStep(buffer, BASE), where);
+        assertEquals(TICK_PERIOD_NANOS, SnapshotCodec.getTickPeriodNanos(buffer, BASE), where);
+        assertEquals(snakeModel.getSnakeBody().getLength(), SnapshotCodec.getLength(buffer, BASE), where);
+    }
+
+    private static ByteBuffer write(SnakeModel snakeModel, IntFunction<ByteBuffer> allocator, ByteOrder order,
+                                    int[] cells) {
+        return write(snakeModel, allocator, order, cells, 0L);
+    }
+
+    private static ByteBuffer write(SnakeModel snakeModel, IntFunction<ByteBuffer> allocator, ByteOrder order,
+                                    int[] cells, long tick) {
+        ByteBuffer buffer = allocator.apply(BASE + SnapshotCodec.getMaxSize(snakeModel)).order(order);
+        buffer.position(BASE);
+        SnapshotCodec.write(buffer, snakeModel, tick, TICK_PERIOD_NANOS, cells);
+        return buffer;
+    }
+
+    /**
+     * Writes a model's state, replaces one header field, and checks that reading the body is refused.
+     */
+    private static void assertMalformed(SnakeModel snakeModel, int[] cells, int offset, int value) {
+        ByteBuffer buffer = write(snakeModel, ByteBuffer::allocate, ByteOrder.BIG_ENDIAN, cells);
+        buffer.putInt(BASE + offset, value);
+        assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.readBody(buffer, BASE, new int[cells.length]),
+                "field at " + offset + " set to " + value);
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.function.IntSupplier;
+
+/**
+ * The ArenaEngineCase class implements the operations of the {@code benchmarks.ArenaBenchmark} on an
+ * {@link ArenaEngine} on a 1024 by 1024 board, stepped alone or by a {@link ShardedArena}.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ArenaEngineCase implements benchmarks.ArenaCase {
+    private static final BoardGeometry BOARD = new BoardGeometry(1024, 1024, 1);
+    private static final String TURNS = "UDLR";
+
+    private ArenaEngine arena;
+    private ShardedArena sharded;
+    private Runnable step;
+    private IntSupplier spawner;
+    private int snakeCount;
+
+    @Override
+    public void setUp(int snakes, int shards) {
+        snakeCount = snakes;
+        if (shards > 1) {
+            sharded = new ShardedArena(BOARD, snakes, snakes, 1L, shards);
+            arena = sharded.getArena();
+            step = sharded::step;
+            spawner = sharded::spawnSnake;
+        } else {
+            arena = new ArenaEngine(BOARD, snakes, snakes, 1L);
+            step = arena::step;
+            spawner = arena::spawnSnake;
+        }
+        respawn();
+    }
+
+    @Override
+    public long tick() {
+        for (int snake = 0; snake < arena.getMaxSnakes(); snake++) {
+            if (arena.isAlive(snake)) {
+                steer(snake);
+            }
+        }
+        step.run();
+        respawn();
+        return arena.getTick();
+    }
+
+    @Override
+    public void tearDown() {
+        if (sharded != null) {
+            sharded.close();
+        }
+    }
+
+    /**
+     * Keeps the snake's direction if the cell ahead is open, otherwise turns towards an open cell.
+     */
+    private void steer(int snake) {
+        char direction = arena.getDirection(snake);
+        if (!isBlockedAhead(snake, direction)) {
+            return;
+        }
+        for (int i = 0; i < TURNS.length(); i++) {
+            char turn = TURNS.charAt((i + snake) & 3);
+            if (turn != direction && !isBlockedAhead(snake, turn)) {
+                arena.setDirection(snake, turn);
+                return;
+            }
+        }
+    }
+
+    private boolean isBlockedAhead(int snake, char direction) {
+        int column = arena.getX(snake, 0);
+        int row = arena.getY(snake, 0);
+        switch (direction) {
+            case 'U' -> row--;
+            case 'D' -> row++;
+            case 'L' -> column--;
+            default -> column++;
+        }
+        return arena.isBlocked(column, row);
+    }
+
+    private void respawn() {
+        while (arena.getAliveCount() < snakeCount && spawner.getAsInt() >= 0) {
+            // Keep spawning until the arena is back to full strength
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * The SnakeModelCase class implements the operations of the {@code benchmarks.ModelBenchmark} on a
+ * {@link SnakeModel}, whose snake follows a cycle of the board from {@link Benchmarks#boardCycle(BoardGeometry)}.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SnakeModelCase implements benchmarks.ModelCase {
+    private SnakeModel snakeModel;
+    private char[] directions;
+    private int position;
+
+    @Override
+    public void setUp(int columns, int rows, int length) {
+        BoardGeometry geometry = new BoardGeometry(columns, rows, 25);
+        int[] cycle = Benchmarks.boardCycle(geometry);
+        directions = Benchmarks.cycleDirections(cycle, columns);
+        snakeModel = new SnakeModel(geometry, 1L);
+        snakeModel.startGame("easy");
+        snakeModel.placeSnake(Benchmarks.snakeAlongCycle(cycle, length), directions[length - 1]);
+        position = length - 1;
+    }
+
+    @Override
+    public int moveSnake() {
+        snakeModel.setDirection(directions[position]);
+        snakeModel.moveSnake();
+        position = position + 1 == directions.length ? 0 : position + 1;
+        return snakeModel.getSnakeBody().getX(0);
+    }
+
+    @Override
+    public int moveSnakeAndCheckCollision() {
+        snakeModel.setDirection(directions[position]);
+        snakeModel.moveSnake();
+        snakeModel.checkCollision();
+        position = position + 1 == directions.length ? 0 : position + 1;
+        return snakeModel.getSnakeBody().getX(0);
+    }
+
+    @Override
+    public int checkApple() {
+        snakeModel.checkApple();
+        return snakeModel.getScore();
+    }
+
+    @Override
+    public boolean checkCollision() {
+        snakeModel.checkCollision();
+        return snakeModel.getIsRunning();
+    }
+
+    @Override
+    public int createApple() {
+        snakeModel.createApple();
+        return snakeModel.getAppleX();
+    }
+}
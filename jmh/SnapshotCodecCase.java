@@ -0,0 +1,54 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The SnapshotCodecCase class implements the operations of the {@code benchmarks.SnapshotBenchmark} with
+ * {@link SnapshotCodec}, on a {@link SnakeModel} whose snake follows a cycle of the board.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SnapshotCodecCase implements benchmarks.SnapshotCase {
+    private SnakeModel snakeModel;
+    private ByteBuffer heap;
+    private ByteBuffer direct;
+    private ByteBuffer written;
+    private int[] cells;
+    private int[] readCells;
+    private long tick;
+
+    @Override
+    public void setUp(int columns, int rows, int length) {
+        BoardGeometry geometry = new BoardGeometry(columns, rows, 25);
+        int[] cycle = Benchmarks.boardCycle(geometry);
+        char[] directions = Benchmarks.cycleDirections(cycle, columns);
+        snakeModel = new SnakeModel(geometry, 1L);
+        snakeModel.startGame("easy");
+        snakeModel.placeSnake(Benchmarks.snakeAlongCycle(cycle, length), directions[length - 1]);
+
+        heap = ByteBuffer.allocate(SnapshotCodec.getMaxSize(snakeModel));
+        direct = ByteBuffer.allocateDirect(SnapshotCodec.getMaxSize(snakeModel));
+        written = ByteBuffer.allocate(SnapshotCodec.getMaxSize(snakeModel));
+        cells = new int[snakeModel.getBodyCapacity()];
+        readCells = new int[snakeModel.getBodyCapacity()];
+        SnapshotCodec.write(written, snakeModel, 0L, 0L, cells);
+    }
+
+    @Override
+    public int writeHeap() {
+        heap.clear();
+        return SnapshotCodec.write(heap, snakeModel, tick++, 0L, cells);
+    }
+
+    @Override
+    public int writeDirect() {
+        direct.clear();
+        return SnapshotCodec.write(direct, snakeModel, tick++, 0L, cells);
+    }
+
+    @Override
+    public int readBody() {
+        SnapshotCodec.readBody(written, 0, readCells);
+        return readCells[SnapshotCodec.getLength(written, 0) - 1];
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ArenaBenchmark class measures the per-tick cost of ArenaEngine as the number of snakes grows,
+ * to show that it rises in proportion to the number of snakes rather than its square. Every snake is
+ * steered by a simple bot that keeps going straight unless the cell ahead is blocked, and snakes that
+ * die are replaced so the count stays steady. Each count is run on the engine alone, and sharded
+ * across threads.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaBenchmark {
+    @Param({"10", "100", "1000", "5000", "20000"})
+    public int snakes;
+
+    // 1 steps the engine alone
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private ArenaCase arenaCase;
+
+    @Setup
+    public void setUp() {
+        arenaCase = Cases.load("ArenaEngineCase", ArenaCase.class);
+        arenaCase.setUp(snakes, shards);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arenaCase.tearDown();
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        blackhole.consume(arenaCase.tick());
+    }
+}
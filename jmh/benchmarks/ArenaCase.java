@@ -0,0 +1,30 @@
+package benchmarks;
+
+/**
+ * The operations of the {@link ArenaBenchmark}, implemented on an ArenaEngine by {@code ArenaEngineCase}.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface ArenaCase {
+    /**
+     * Creates an arena full of snakes.
+     *
+     * @param snakes The number of snakes, kept steady by replacing those that die.
+     * @param shards The number of shards to step the arena in, or 1 to step the engine alone.
+     */
+    void setUp(int snakes, int shards);
+
+    /**
+     * Steers every snake, steps the arena one tick and replaces the snakes that died.
+     *
+     * @return The tick number.
+     */
+    long tick();
+
+    /**
+     * Stops the shards' worker threads.
+     */
+    void tearDown();
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+/**
+ * The Cases class connects the JMH benchmarks to the game. JMH only runs benchmarks in a named package,
+ * and a named package cannot refer to the game's classes, which are all in the unnamed one. So each
+ * benchmark states the operations it measures as an interface in this package, and a class in the unnamed
+ * package implements them on the game's classes; the benchmark loads it by name once, in its setup. The
+ * timed calls are then ordinary interface calls with a single implementation, which the JIT inlines.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+final class Cases {
+    private Cases() {
+    }
+
+    /**
+     * Creates the implementation of a benchmark's operations.
+     *
+     * @param className The name of the implementing class in the unnamed package.
+     * @param type      The interface it implements.
+     * @param <T>       The interface type.
+     * @return A new instance of the class.
+     * @throws IllegalStateException If the class cannot be found or created.
+     */
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the benchmark case " + className, e);
+        }
+    }
+
+    /**
+     * Parses a board size parameter such as {@code 32x24}.
+     *
+     * @param board The board size, as columns by rows.
+     * @return The number of columns and the number of rows.
+     */
+    static int[] boardSize(String board) {
+        int separator = board.indexOf('x');
+        return new int[]{Integer.parseInt(board.substring(0, separator)), Integer.parseInt(board.substring(separator + 1))};
+    }
+
+    /**
+     * Parses a snake length parameter: either a number of segments, or a share of the board such as
+     * {@code 1/4}, never less than the starting length of 4.
+     *
+     * @param length    The length parameter.
+     * @param cellCount The number of cells on the board.
+     * @return The number of segments.
+     */
+    static int snakeLength(String length, int cellCount) {
+        int separator = length.indexOf('/');
+        if (separator < 0) {
+            return Math.min(cellCount, Integer.parseInt(length));
+        }
+        int share = cellCount * Integer.parseInt(length.substring(0, separator)) / Integer.parseInt(length.substring(separator + 1));
+        return Math.max(4, share);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ModelBenchmark class measures the per-tick cost of SnakeModel across board sizes and snake lengths,
+ * from the starting length up to a snake covering the whole board. The snake follows a Hamiltonian cycle
+ * of the board so that it can move indefinitely at any length without colliding.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({"8x6", "32x24", "64x48", "128x96"})
+    public String board;
+
+    // A number of segments, or a share of the board
+    @Param({"4", "1/16", "1/4", "1/2", "1/1"})
+    public String length;
+
+    private ModelCase modelCase;
+
+    @Setup
+    public void setUp() {
+        int[] size = Cases.boardSize(board);
+        modelCase = Cases.load("SnakeModelCase", ModelCase.class);
+        modelCase.setUp(size[0], size[1], Cases.snakeLength(length, size[0] * size[1]));
+    }
+
+    @Benchmark
+    public void moveSnake(Blackhole blackhole) {
+        blackhole.consume(modelCase.moveSnake());
+    }
+
+    @Benchmark
+    public void moveSnakeAndCheckCollision(Blackhole blackhole) {
+        blackhole.consume(modelCase.moveSnakeAndCheckCollision());
+    }
+
+    @Benchmark
+    public void checkApple(Blackhole blackhole) {
+        blackhole.consume(modelCase.checkApple());
+    }
+
+    @Benchmark
+    public void checkCollision(Blackhole blackhole) {
+        blackhole.consume(modelCase.checkCollision());
+    }
+
+    @Benchmark
+    public void createApple(Blackhole blackhole) {
+        blackhole.consume(modelCase.createApple());
+    }
+}
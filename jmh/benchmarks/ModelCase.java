@@ -0,0 +1,54 @@
+package benchmarks;
+
+/**
+ * The operations of the {@link ModelBenchmark}, implemented on a SnakeModel by {@code SnakeModelCase}.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface ModelCase {
+    /**
+     * Creates a model whose snake lies along a cycle of the board, so it can move forever at any length.
+     *
+     * @param columns The number of columns on the board.
+     * @param rows    The number of rows on the board, which must be even.
+     * @param length  The length of the snake.
+     */
+    void setUp(int columns, int rows, int length);
+
+    /**
+     * Moves the snake one cell along the cycle.
+     *
+     * @return The column of the new head.
+     */
+    int moveSnake();
+
+    /**
+     * Moves the snake one cell along the cycle and checks it for collisions, as a tick does.
+     *
+     * @return The column of the new head.
+     */
+    int moveSnakeAndCheckCollision();
+
+    /**
+     * Checks whether the head is on the apple.
+     *
+     * @return The score.
+     */
+    int checkApple();
+
+    /**
+     * Checks the head for collisions.
+     *
+     * @return {@code true} if the game is still running.
+     */
+    boolean checkCollision();
+
+    /**
+     * Places a new apple on a free cell.
+     *
+     * @return The column of the apple.
+     */
+    int createApple();
+}
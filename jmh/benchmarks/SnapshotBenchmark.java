@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SnapshotBenchmark class measures writing and reading a game's state with SnapshotCodec across
+ * board sizes and snake lengths, into heap and direct buffers. The snake lies along a Hamiltonian cycle
+ * of the board, whose long straight stretches make few runs; a snake that turns at every segment would
+ * take a byte per segment instead.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"8x6", "32x24", "128x96"})
+    public String board;
+
+    // A number of segments, or a share of the board
+    @Param({"4", "1/16", "1/4", "1/2", "1/1"})
+    public String length;
+
+    private SnapshotCase snapshotCase;
+
+    @Setup
+    public void setUp() {
+        int[] size = Cases.boardSize(board);
+        snapshotCase = Cases.load("SnapshotCodecCase", SnapshotCase.class);
+        snapshotCase.setUp(size[0], size[1], Cases.snakeLength(length, size[0] * size[1]));
+    }
+
+    @Benchmark
+    public void writeHeap(Blackhole blackhole) {
+        blackhole.consume(snapshotCase.writeHeap());
+    }
+
+    @Benchmark
+    public void writeDirect(Blackhole blackhole) {
+        blackhole.consume(snapshotCase.writeDirect());
+    }
+
+    @Benchmark
+    public void readBody(Blackhole blackhole) {
+        blackhole.consume(snapshotCase.readBody());
+    }
+}
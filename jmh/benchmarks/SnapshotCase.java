@@ -0,0 +1,40 @@
+package benchmarks;
+
+/**
+ * The operations of the {@link SnapshotBenchmark}, implemented with SnapshotCodec by {@code SnapshotCodecCase}.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface SnapshotCase {
+    /**
+     * Creates a model whose snake lies along a cycle of the board, and writes its state once to be read.
+     *
+     * @param columns The number of columns on the board.
+     * @param rows    The number of rows on the board, which must be even.
+     * @param length  The length of the snake.
+     */
+    void setUp(int columns, int rows, int length);
+
+    /**
+     * Writes the model's state into a heap buffer.
+     *
+     * @return The number of bytes written.
+     */
+    int writeHeap();
+
+    /**
+     * Writes the model's state into a direct buffer.
+     *
+     * @return The number of bytes written.
+     */
+    int writeDirect();
+
+    /**
+     * Reads the body of the written state.
+     *
+     * @return The tail's cell.
+     */
+    int readBody();
+}
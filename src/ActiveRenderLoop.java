@@ -0,0 +1,201 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * The ActiveRenderLoop class drives a game on its own thread instead of the Swing timer.
+ * The model is stepped on a fixed timestep taken from its delay, and every frame is rendered straight
+ * into a BufferStrategy at the display's refresh rate, blending the latest tick by the fraction of the
+ * next tick that has already passed. This keeps frame pacing steady even when ticks are only a few
+ * milliseconds apart.
+ * <p>
+ * Only the loop thread steps the model. Directions are taken from the queue once per tick, the time from
+ * a key press to the first frame showing its turn is recorded in the view's input latency histogram, and
+ * the game over callback is run on the event dispatch thread once the game ends.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ActiveRenderLoop implements Runnable {
+    // Ticks to catch up on in one frame at most, so a stall cannot snowball
+    private static final int MAX_TICKS_PER_FRAME = 8;
+
+    private final SnakeModel snakeModel;
+    private final SnakeView snakeView;
+    private final Canvas canvas;
+    private final DirectionQueue directionQueue;
+    private final Runnable onGameOver;
+    private final long frameNanos;
+    private Thread thread;
+    // Optional metrics; null unless enabled
+    private LatencyHistogram frameTime;
+    private Counter tickCount;
+    private ReplayRecorder replayRecorder;
+    private volatile boolean isRunning;
+    private volatile boolean isPaused;
+
+    /**
+     * Constructor to initialize the loop.
+     *
+     * @param snakeModel      The game to step.
+     * @param snakeView       The view that renders the frames.
+     * @param canvas          The canvas whose BufferStrategy the frames are rendered into.
+     * @param directionQueue  The key presses that supply the direction for each tick.
+     * @param onGameOver      Run on the event dispatch thread once the game ends.
+     */
+    public ActiveRenderLoop(SnakeModel snakeModel, SnakeView snakeView, Canvas canvas, DirectionQueue directionQueue, Runnable onGameOver) {
+        this.snakeModel = snakeModel;
+        this.snakeView = snakeView;
+        this.canvas = canvas;
+        this.directionQueue = directionQueue;
+        this.onGameOver = onGameOver;
+        this.frameNanos = 1_000_000_000L / SnakeView.getDisplayRefreshRate();
+    }
+
+    /**
+     * Starts the loop on a new daemon thread.
+     */
+    public void start() {
+        isRunning = true;
+        thread = new Thread(this, "snake-active-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop after the current frame, without running the game over callback,
+     * and waits for the loop thread to finish so the model can safely be reused.
+     */
+    public void stop() {
+        isRunning = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Records the loop's metrics: the time each frame takes to render and show ({@code frame.time})
+     * and the number of ticks played ({@code tick.count}). Must be called before {@link #start()}.
+     *
+     * @param metrics The registry to record to.
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.frameTime = metrics.histogram("frame.time");
+        this.tickCount = metrics.counter("tick.count");
+    }
+
+    /**
+     * Records every tick into a replay. Must be called before {@link #start()}.
+     *
+     * @param replayRecorder The recording of the game, which was started with its seed.
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Pauses or resumes the game. Frames are still rendered while the game is paused.
+     *
+     * @param isPaused {@code true} to pause the game, {@code false} to resume it.
+     */
+    public void setPaused(boolean isPaused) {
+        this.isPaused = isPaused;
+    }
+
+    /**
+     * Checks if the game is paused.
+     *
+     * @return {@code true} if the game is paused, {@code false} otherwise.
+     */
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy bufferStrategy = canvas.getBufferStrategy();
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        boolean isGameOver = false;
+        long inputTimestamp = 0;
+        long tick = 0;
+
+        while (isRunning && !isGameOver) {
+            long now = System.nanoTime();
+            long tickNanos = Math.max(1, snakeModel.getDelay()) * 1_000_000L;
+            if (isPaused) {
+                accumulator = 0;
+            } else {
+                accumulator = Math.min(accumulator + now - previousTime, tickNanos * MAX_TICKS_PER_FRAME);
+            }
+            previousTime = now;
+
+            while (accumulator >= tickNanos && !isGameOver) {
+                SnakeTickEvent tickEvent = GameEvents.beginTick();
+                isGameOver = !snakeModel.step((char) directionQueue.getAsInt());
+                GameEvents.commitTick(tickEvent, snakeModel, ++tick);
+                if (replayRecorder != null) {
+                    replayRecorder.recordTick(tick, snakeModel.getDirection());
+                }
+                long appliedTimestamp = directionQueue.takeAppliedTimestamp();
+                if (inputTimestamp == 0) {
+                    inputTimestamp = appliedTimestamp;
+                }
+                accumulator -= tickNanos;
+                if (tickCount != null) {
+                    tickCount.increment();
+                }
+                tickNanos = Math.max(1, snakeModel.getDelay()) * 1_000_000L;
+            }
+
+            long frameStart = System.nanoTime();
+            render(bufferStrategy, (float) accumulator / tickNanos);
+            if (frameTime != null) {
+                frameTime.record(System.nanoTime() - frameStart);
+            }
+            if (inputTimestamp != 0) {
+                snakeView.getInputLatency().record(System.nanoTime() - inputTimestamp);
+                inputTimestamp = 0;
+            }
+            sleepUntil(now + frameNanos);
+        }
+        if (isGameOver) {
+            SwingUtilities.invokeLater(onGameOver);
+        }
+    }
+
+    /**
+     * Renders one frame into the back buffer and shows it, redrawing if the buffer's contents were lost.
+     */
+    private void render(BufferStrategy bufferStrategy, float alpha) {
+        do {
+            do {
+                Graphics g = bufferStrategy.getDrawGraphics();
+                try {
+                    snakeView.renderFrame(g, snakeModel, alpha);
+                } finally {
+                    g.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The AppleSpawnEvent class is a Java Flight Recorder event marking the tick on which the snake ate
+ * an apple and a new one was placed.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Name("snake.AppleSpawn")
+@Label("Apple Spawn")
+@Category("Snake Game")
+@Description("A new apple was placed after the snake ate one")
+class AppleSpawnEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Column")
+    int appleX;
+
+    @Label("Row")
+    int appleY;
+
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Score")
+    int score;
+}
@@ -0,0 +1,630 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The ArenaEngine class runs many snakes on one shared board. The board itself serves as the spatial index:
+ * an occupancy grid tracks the free cells, an owner grid records which snake covers each cell, and a claim
+ * grid records which snake's head is moving into each cell this tick. Every collision check is a lookup
+ * of the cell a head is moving into, so a tick costs time in proportion to the number of snakes, however
+ * many there are.
+ * <p>
+ * All snakes move at once. A tick runs in three phases:
+ * </p>
+ * <ol>
+ *     <li>Intent: every snake turns, finds the cell its head moves into, and claims it. A snake that leaves
+ *     the board dies, and snakes whose heads claim the same cell all die.</li>
+ *     <li>Resolve: a head moving into a cell covered by any snake's body, as it was at the start of the tick,
+ *     dies, unless the cell is a tail that moves away this tick.</li>
+ *     <li>Apply: surviving snakes let go of their tails, dead snakes are removed, surviving heads move in,
+ *     and the apples that found no room on earlier ticks are placed, followed by every eaten apple in snake
+ *     order, so the random placement is deterministic.</li>
+ * </ol>
+ * <p>
+ * Snakes are identified by small integers that are reused once a snake has died.
+ * Two engines created with the same seed and given the same spawns and directions play out identically.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ArenaEngine {
+    static final int START_LENGTH = 4;
+    private static final int INITIAL_BODY_CAPACITY = 16;
+    // Claimant of a cell that more than one head is moving into
+    private static final int CONTESTED = -1;
+
+    private final int columns;
+    private final int rows;
+    private final int maxSnakes;
+    private final Random rand;
+
+    // One entry per cell
+    private final OccupancyGrid occupancy;
+    private final int[] owners;
+    private final int[] claimStamps;
+    private final int[] claimants;
+    // The index of the apple on each cell plus one, or 0 if there is none
+    private final int[] appleSlots;
+
+    // One entry per snake slot; each body is a circular buffer of packed cells with the head at bodyHeads
+    private final int[][] bodies;
+    private final int[] bodyHeads;
+    private final int[] lengths;
+    private final char[] directions;
+    private final char[] requestedDirections;
+    private final int[] scores;
+    private final boolean[] alive;
+    private final int[] nextHeads;
+    private final boolean[] growing;
+    private final boolean[] dying;
+
+    private final int[] appleCells;
+    // The indices of the apples that found no room, to try again each tick
+    private final int[] unplacedApples;
+    private int unplacedCount;
+    private int placedAppleCount;
+    private final int[] freeIds;
+    private int freeIdCount;
+    private int aliveCount;
+    private int tick;
+
+    /**
+     * Constructor to initialize an arena with no snakes and the given number of apples.
+     *
+     * @param geometry   The size of the shared board.
+     * @param maxSnakes  The largest number of snakes alive at once.
+     * @param appleCount The number of apples kept on the board.
+     * @param seed       The seed for spawning snakes and placing apples.
+     */
+    public ArenaEngine(BoardGeometry geometry, int maxSnakes, int appleCount, long seed) {
+        if (appleCount >= geometry.getCellCount()) {
+            throw new IllegalArgumentException("Too many apples for the board: " + appleCount);
+        }
+        this.columns = geometry.getColumns();
+        this.rows = geometry.getRows();
+        this.maxSnakes = maxSnakes;
+        this.rand = new Random(seed);
+
+        int cellCount = geometry.getCellCount();
+        occupancy = new OccupancyGrid(cellCount);
+        owners = new int[cellCount];
+        claimStamps = new int[cellCount];
+        claimants = new int[cellCount];
+        appleSlots = new int[cellCount];
+
+        bodies = new int[maxSnakes][];
+        bodyHeads = new int[maxSnakes];
+        lengths = new int[maxSnakes];
+        directions = new char[maxSnakes];
+        requestedDirections = new char[maxSnakes];
+        scores = new int[maxSnakes];
+        alive = new boolean[maxSnakes];
+        nextHeads = new int[maxSnakes];
+        growing = new boolean[maxSnakes];
+        dying = new boolean[maxSnakes];
+
+        freeIds = new int[maxSnakes];
+        for (int id = 0; id < maxSnakes; id++) {
+            freeIds[id] = maxSnakes - 1 - id;
+        }
+        freeIdCount = maxSnakes;
+
+        appleCells = new int[appleCount];
+        unplacedApples = new int[appleCount];
+        for (int i = 0; i < appleCount; i++) {
+            placeApple(i);
+        }
+    }
+
+    /**
+     * Spawns a snake of the starting length, coiled up on a random free cell and heading
+     * towards the nearer side of the board's middle.
+     *
+     * @return The id of the new snake, or -1 if the arena is full.
+     */
+    public int spawnSnake() {
+        int cell = randomEmptyCell();
+        if (cell < 0) {
+            return -1;
+        }
+        return spawnSnake(cell, cell % columns < columns / 2 ? 'R' : 'L');
+    }
+
+    /**
+     * Spawns a snake of the starting length, coiled up on a free cell.
+     *
+     * @param cell      The packed index of the cell, which must be free and hold no apple.
+     * @param direction The direction the snake starts moving in ('U', 'D', 'L', 'R').
+     * @return The id of the new snake, or -1 if the arena is full.
+     */
+    public int spawnSnake(int cell, char direction) {
+        if (freeIdCount == 0) {
+            return -1;
+        }
+        if (occupancy.isOccupied(cell) || appleSlots[cell] != 0) {
+            throw new IllegalArgumentException("The cell is not free: " + cell);
+        }
+        int id = freeIds[--freeIdCount];
+        if (bodies[id] == null) {
+            bodies[id] = new int[INITIAL_BODY_CAPACITY];
+        }
+        Arrays.fill(bodies[id], 0, START_LENGTH, cell);
+        bodyHeads[id] = 0;
+        lengths[id] = START_LENGTH;
+        directions[id] = direction;
+        requestedDirections[id] = direction;
+        scores[id] = 0;
+        alive[id] = true;
+        aliveCount++;
+        occupancy.occupy(cell);
+        owners[cell] = id + 1;
+        return id;
+    }
+
+    /**
+     * Sets the direction a snake turns to on the next tick. A direction that would
+     * reverse the snake onto itself is ignored.
+     *
+     * @param snake     The id of the snake.
+     * @param direction The direction ('U', 'D', 'L', 'R').
+     */
+    public void setDirection(int snake, char direction) {
+        requestedDirections[snake] = direction;
+    }
+
+    /**
+     * Advances every snake by one tick.
+     */
+    public void step() {
+        beginTick();
+        intend(0, maxSnakes);
+        resolve(0, maxSnakes);
+        apply();
+    }
+
+    /**
+     * Starts a new tick, which makes every claim from the previous tick stale.
+     */
+    void beginTick() {
+        tick++;
+    }
+
+    /**
+     * The intent phase for a range of snakes: turn, find the next head cell, and claim it.
+     */
+    void intend(int from, int to) {
+        for (int snake = from; snake < to; snake++) {
+            if (!alive[snake]) {
+                continue;
+            }
+            int cell = intendMove(snake);
+            if (cell >= 0) {
+                claim(snake, cell);
+            }
+        }
+    }
+
+    /**
+     * Turns a snake and finds the cell its head moves into, marking it as dying if it leaves the board.
+     *
+     * @return The packed index of the cell, or -1 if the snake leaves the board.
+     */
+    int intendMove(int snake) {
+        char direction = requestedDirections[snake];
+        if (!isReverse(directions[snake], direction)) {
+            directions[snake] = direction;
+        }
+        int head = bodies[snake][bodyHeads[snake]];
+        int column = head % columns;
+        int row = head / columns;
+        switch (directions[snake]) {
+            case 'R':
+                column++;
+                break;
+            case 'L':
+                column--;
+                break;
+            case 'U':
+                row--;
+                break;
+            case 'D':
+                row++;
+                break;
+        }
+        dying[snake] = false;
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            nextHeads[snake] = -1;
+            growing[snake] = false;
+            dying[snake] = true;
+            return -1;
+        }
+        int cell = row * columns + column;
+        nextHeads[snake] = cell;
+        growing[snake] = appleSlots[cell] != 0;
+        return cell;
+    }
+
+    /**
+     * Claims a cell for a snake's head. The first claim of a tick wins the cell; any further claim
+     * makes it contested, and every snake that claimed it dies.
+     */
+    void claim(int snake, int cell) {
+        if (claimStamps[cell] != tick) {
+            claimStamps[cell] = tick;
+            claimants[cell] = snake;
+            return;
+        }
+        int claimant = claimants[cell];
+        if (claimant != CONTESTED) {
+            dying[claimant] = true;
+            claimants[cell] = CONTESTED;
+        }
+        dying[snake] = true;
+    }
+
+    /**
+     * The resolve phase for a range of snakes: a head moving into another body, or its own, dies
+     * unless that cell is a tail moving away this tick.
+     */
+    void resolve(int from, int to) {
+        for (int snake = from; snake < to; snake++) {
+            if (alive[snake]) {
+                resolveMove(snake);
+            }
+        }
+    }
+
+    /**
+     * Resolves one living snake's move against the bodies on the board.
+     */
+    void resolveMove(int snake) {
+        if (dying[snake]) {
+            return;
+        }
+        int owner = owners[nextHeads[snake]] - 1;
+        if (owner >= 0 && !isVacatingTail(owner, nextHeads[snake])) {
+            dying[snake] = true;
+        }
+    }
+
+    /**
+     * Checks if a cell is a snake's tail that is left free this tick: the snake does not grow,
+     * and the tail is not stacked on the segment before it.
+     */
+    private boolean isVacatingTail(int snake, int cell) {
+        int length = lengths[snake];
+        int tail = segment(snake, length - 1);
+        return tail == cell && !growing[snake] && segment(snake, length - 2) != tail;
+    }
+
+    /**
+     * The apply phase: moves tails, removes dead snakes, moves heads, and replaces eaten apples.
+     * Tails go first so a head may follow a tail into the cell it leaves.
+     */
+    void apply() {
+        for (int snake = 0; snake < maxSnakes; snake++) {
+            if (alive[snake] && !dying[snake] && !growing[snake]) {
+                releaseTail(snake);
+            }
+        }
+        for (int snake = 0; snake < maxSnakes; snake++) {
+            if (alive[snake] && dying[snake]) {
+                kill(snake);
+            }
+        }
+        for (int snake = 0; snake < maxSnakes; snake++) {
+            if (alive[snake]) {
+                moveHead(snake);
+            }
+        }
+        for (int snake = 0; snake < maxSnakes; snake++) {
+            if (alive[snake] && growing[snake]) {
+                removeApple(nextHeads[snake]);
+            }
+        }
+        if (unplacedCount > 0) {
+            placeUnplacedApples();
+        }
+    }
+
+    /**
+     * Takes an eaten apple off the board, to be placed again with the apples that found no room.
+     */
+    private void removeApple(int cell) {
+        int index = appleSlots[cell] - 1;
+        appleSlots[cell] = 0;
+        appleCells[index] = -1;
+        placedAppleCount--;
+        unplacedApples[unplacedCount++] = index;
+    }
+
+    /**
+     * Places the eaten apples and the apples that found no room before, keeping those that still find none.
+     */
+    private void placeUnplacedApples() {
+        int count = unplacedCount;
+        unplacedCount = 0;
+        for (int i = 0; i < count; i++) {
+            placeApple(unplacedApples[i]);
+        }
+    }
+
+    private void releaseTail(int snake) {
+        int length = lengths[snake];
+        int tail = segment(snake, length - 1);
+        if (segment(snake, length - 2) != tail) {
+            occupancy.release(tail);
+            owners[tail] = 0;
+        }
+        lengths[snake] = length - 1;
+    }
+
+    private void kill(int snake) {
+        for (int i = 0; i < lengths[snake]; i++) {
+            int cell = segment(snake, i);
+            occupancy.release(cell);
+            owners[cell] = 0;
+        }
+        alive[snake] = false;
+        aliveCount--;
+        freeIds[freeIdCount++] = snake;
+    }
+
+    private void moveHead(int snake) {
+        int length = lengths[snake];
+        int[] body = bodies[snake];
+        if (length + 1 > body.length) {
+            body = growBody(snake);
+        }
+        int head = bodyHeads[snake];
+        head = head == 0 ? body.length - 1 : head - 1;
+        bodyHeads[snake] = head;
+        int cell = nextHeads[snake];
+        body[head] = cell;
+        lengths[snake] = length + 1;
+        occupancy.occupy(cell);
+        owners[cell] = snake + 1;
+        if (growing[snake]) {
+            scores[snake]++;
+        }
+    }
+
+    /**
+     * Doubles a body's buffer, unrolling the segments so the head is at the start.
+     */
+    private int[] growBody(int snake) {
+        int[] body = bodies[snake];
+        int[] larger = new int[body.length * 2];
+        for (int i = 0; i < lengths[snake]; i++) {
+            larger[i] = segment(snake, i);
+        }
+        bodies[snake] = larger;
+        bodyHeads[snake] = 0;
+        return larger;
+    }
+
+    /**
+     * Places an apple on a random empty cell, or leaves it off the board until the next tick
+     * if there is no room.
+     *
+     * @param index The index of the apple.
+     */
+    private void placeApple(int index) {
+        int cell = randomEmptyCell();
+        appleCells[index] = cell;
+        if (cell >= 0) {
+            appleSlots[cell] = index + 1;
+            placedAppleCount++;
+        } else {
+            unplacedApples[unplacedCount++] = index;
+        }
+    }
+
+    /**
+     * Picks a uniformly random cell with neither a snake nor an apple on it. Every apple sits on a free cell,
+     * so a few random free cells almost always find one; on a board that is nearly all apples, it counts
+     * through the free cells instead.
+     *
+     * @return The packed index of the cell, or -1 if there is none.
+     */
+    private int randomEmptyCell() {
+        int emptyCount = occupancy.getFreeCount() - placedAppleCount;
+        if (emptyCount <= 0) {
+            return -1;
+        }
+        for (int attempt = 0; attempt < 16; attempt++) {
+            int cell = occupancy.randomFreeCell(rand);
+            if (appleSlots[cell] == 0) {
+                return cell;
+            }
+        }
+        int skip = rand.nextInt(emptyCount);
+        for (int position = 0; ; position++) {
+            int cell = occupancy.getFreeCell(position);
+            if (appleSlots[cell] == 0 && skip-- == 0) {
+                return cell;
+            }
+        }
+    }
+
+    private static boolean isReverse(char current, char direction) {
+        switch (direction) {
+            case 'U':
+                return current == 'D';
+            case 'D':
+                return current == 'U';
+            case 'L':
+                return current == 'R';
+            case 'R':
+                return current == 'L';
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Gets the cell a snake's head is on.
+     *
+     * @return The packed index of the cell.
+     */
+    int getHeadCell(int snake) {
+        return bodies[snake][bodyHeads[snake]];
+    }
+
+    /**
+     * Gets the cell a snake's head moves into this tick, once its intent is known.
+     *
+     * @return The packed index of the cell, or -1 if the snake leaves the board.
+     */
+    int getNextHead(int snake) {
+        return nextHeads[snake];
+    }
+
+    private int segment(int snake, int index) {
+        int[] body = bodies[snake];
+        int slot = bodyHeads[snake] + index;
+        return body[slot < body.length ? slot : slot - body.length];
+    }
+
+    /**
+     * Checks if a cell is off the board or covered by a snake.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return {@code true} if moving into the cell would be fatal at the start of the tick.
+     */
+    public boolean isBlocked(int column, int row) {
+        return column < 0 || column >= columns || row < 0 || row >= rows || owners[row * columns + column] != 0;
+    }
+
+    /**
+     * Gets the snake covering a cell.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return The id of the snake, or -1 if the cell is free.
+     */
+    public int getSnakeAt(int column, int row) {
+        return owners[row * columns + column] - 1;
+    }
+
+    /**
+     * Checks if an apple is on a cell.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return {@code true} if an apple is on the cell, {@code false} otherwise.
+     */
+    public boolean isApple(int column, int row) {
+        return appleSlots[row * columns + column] != 0;
+    }
+
+    /**
+     * Gets the number of apples kept on the board.
+     *
+     * @return The apple count, including any waiting for room.
+     */
+    public int getAppleCount() {
+        return appleCells.length;
+    }
+
+    /**
+     * Gets the packed cell of an apple.
+     *
+     * @param index The index of the apple.
+     * @return The packed index of the cell, or -1 while there is no room for the apple.
+     */
+    public int getAppleCell(int index) {
+        return appleCells[index];
+    }
+
+    /**
+     * Gets the largest number of snakes alive at once.
+     *
+     * @return The number of snake slots.
+     */
+    public int getMaxSnakes() {
+        return maxSnakes;
+    }
+
+    /**
+     * Gets the number of snakes alive.
+     *
+     * @return The alive count.
+     */
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * Gets the number of ticks the arena has played.
+     *
+     * @return The tick number.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Checks if a snake is alive.
+     *
+     * @param snake The id of the snake.
+     * @return {@code true} if the snake is alive, {@code false} if it died or was never spawned.
+     */
+    public boolean isAlive(int snake) {
+        return alive[snake];
+    }
+
+    /**
+     * Gets the number of apples a snake has eaten.
+     *
+     * @param snake The id of the snake.
+     * @return The score.
+     */
+    public int getScore(int snake) {
+        return scores[snake];
+    }
+
+    /**
+     * Gets the number of segments of a snake.
+     *
+     * @param snake The id of the snake.
+     * @return The length.
+     */
+    public int getLength(int snake) {
+        return lengths[snake];
+    }
+
+    /**
+     * Gets the direction a snake is moving in.
+     *
+     * @param snake The id of the snake.
+     * @return The direction ('U', 'D', 'L', 'R').
+     */
+    public char getDirection(int snake) {
+        return directions[snake];
+    }
+
+    /**
+     * Gets the column of a body segment.
+     *
+     * @param snake The id of the snake.
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's column on the board.
+     */
+    public int getX(int snake, int index) {
+        return segment(snake, index) % columns;
+    }
+
+    /**
+     * Gets the row of a body segment.
+     *
+     * @param snake The id of the snake.
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's row on the board.
+     */
+    public int getY(int snake, int index) {
+        return segment(snake, index) / columns;
+    }
+}
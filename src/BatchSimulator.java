@@ -0,0 +1,243 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The BatchSimulator class plays many independent headless games in parallel.
+ * Every game gets its own SnakeModel and a seed derived from the batch seed and the game's index,
+ * so a batch is reproducible regardless of how the games are spread across threads.
+ * Results are written into per-game slots, so the worker threads share no mutable state.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class BatchSimulator {
+    private final BoardGeometry geometry;
+    private final String difficulty;
+    private final int maxTicks;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor to initialize a simulator that uses every available core.
+     *
+     * @param geometry   The size of the game board.
+     * @param difficulty The difficulty level (e.g., "easy", "medium", "hard").
+     * @param maxTicks   The number of ticks after which a game is cut short.
+     */
+    public BatchSimulator(BoardGeometry geometry, String difficulty, int maxTicks) {
+        this(geometry, difficulty, maxTicks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor to initialize a simulator that runs its games on the given pool.
+     *
+     * @param geometry   The size of the game board.
+     * @param difficulty The difficulty level (e.g., "easy", "medium", "hard").
+     * @param maxTicks   The number of ticks after which a game is cut short.
+     * @param pool       The pool to run the games on.
+     */
+    public BatchSimulator(BoardGeometry geometry, String difficulty, int maxTicks, ForkJoinPool pool) {
+        this.geometry = geometry;
+        this.difficulty = difficulty;
+        this.maxTicks = maxTicks;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays a batch of games and collects their statistics.
+     *
+     * @param games    The number of games to play.
+     * @param baseSeed The seed from which every game's seed is derived.
+     * @param bot      The bot steering the snakes; it must be safe to share between threads.
+     * @return The statistics of the batch.
+     */
+    public Result run(int games, long baseSeed, SnakeBot bot) {
+        int[] scores = new int[games];
+        int[] lengths = new int[games];
+        int[] ticks = new int[games];
+
+        long start = System.nanoTime();
+        pool.submit(() -> IntStream.range(0, games).parallel().forEach(game -> {
+            SnakeModel snakeModel = new SnakeModel(geometry, gameSeed(baseSeed, game));
+            snakeModel.startGame(difficulty);
+            int tick = 0;
+            while (tick < maxTicks && snakeModel.step(bot.chooseDirection(snakeModel))) {
+                tick++;
+            }
+            scores[game] = snakeModel.getScore();
+            lengths[game] = snakeModel.getSnakeBody().getLength();
+            ticks[game] = tick;
+        })).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new Result(scores, lengths, ticks, elapsedNanos);
+    }
+
+    /**
+     * Derives the seed of a single game by mixing the batch seed with the game's index.
+     *
+     * @param baseSeed The seed of the batch.
+     * @param game     The index of the game in the batch.
+     * @return The seed of the game.
+     */
+    public static long gameSeed(long baseSeed, int game) {
+        long z = baseSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Runs a batch of greedy games on the default board and prints the statistics.
+     *
+     * @param args Optionally the number of games and the batch seed.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        BatchSimulator simulator = new BatchSimulator(new BoardGeometry(32, 24, 25), "easy", 100_000);
+        System.out.println(simulator.run(games, seed, new GreedySnakeBot()));
+    }
+
+    /**
+     * The Result class holds the outcome of every game in a batch.
+     */
+    public static class Result {
+        private final int[] scores;
+        private final int[] lengths;
+        private final int[] ticks;
+        private final long elapsedNanos;
+
+        private Result(int[] scores, int[] lengths, int[] ticks, long elapsedNanos) {
+            this.scores = scores;
+            this.lengths = lengths;
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of games in the batch.
+         *
+         * @return The game count.
+         */
+        public int getGameCount() {
+            return scores.length;
+        }
+
+        /**
+         * Gets the final score of a game.
+         *
+         * @param game The index of the game.
+         * @return The score.
+         */
+        public int getScore(int game) {
+            return scores[game];
+        }
+
+        /**
+         * Gets the final length of a game's snake.
+         *
+         * @param game The index of the game.
+         * @return The number of segments.
+         */
+        public int getLength(int game) {
+            return lengths[game];
+        }
+
+        /**
+         * Gets the number of ticks a game lasted.
+         *
+         * @param game The index of the game.
+         * @return The tick count.
+         */
+        public int getTicks(int game) {
+            return ticks[game];
+        }
+
+        /**
+         * Gets the average final score of the games.
+         *
+         * @return The average score.
+         */
+        public double getAverageScore() {
+            return average(scores);
+        }
+
+        /**
+         * Gets the highest final score of the games.
+         *
+         * @return The highest score.
+         */
+        public int getMaxScore() {
+            return max(scores);
+        }
+
+        /**
+         * Gets the average final length of the games' snakes.
+         *
+         * @return The average number of segments.
+         */
+        public double getAverageLength() {
+            return average(lengths);
+        }
+
+        /**
+         * Gets the average number of ticks the games lasted.
+         *
+         * @return The average tick count.
+         */
+        public double getAverageTicks() {
+            return average(ticks);
+        }
+
+        /**
+         * Gets the most ticks any game lasted.
+         *
+         * @return The highest tick count.
+         */
+        public int getMaxTicks() {
+            return max(ticks);
+        }
+
+        /**
+         * Gets the wall-clock time the batch took.
+         *
+         * @return The time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets the throughput of the batch.
+         *
+         * @return The number of games played per second.
+         */
+        public double getGamesPerSecond() {
+            return scores.length * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        private static double average(int[] values) {
+            long sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return values.length == 0 ? 0 : (double) sum / values.length;
+        }
+
+        private static int max(int[] values) {
+            int max = 0;
+            for (int value : values) {
+                max = Math.max(max, value);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games in %.1f ms (%.0f games/sec): score avg %.2f max %d, length avg %.2f, ticks avg %.1f max %d",
+                    getGameCount(), elapsedNanos / 1e6, getGamesPerSecond(), getAverageScore(), getMaxScore(),
+                    getAverageLength(), getAverageTicks(), getMaxTicks());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The BoardGeometry class describes the size of the game board.
+ * The board is a grid of cells, each drawn as a square of {@code unitSize} pixels.
+ * Instances are immutable, so the same geometry can be shared by the model and the view.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class BoardGeometry {
+    private final int columns;
+    private final int rows;
+    private final int unitSize;
+    private final int width;
+    private final int height;
+
+    /**
+     * Constructor to initialize the board geometry.
+     *
+     * @param columns  The number of cells across the board.
+     * @param rows     The number of cells down the board.
+     * @param unitSize The size of each cell in pixels.
+     */
+    public BoardGeometry(int columns, int rows, int unitSize) {
+        if (columns <= 0 || rows <= 0 || unitSize <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.unitSize = unitSize;
+        this.width = columns * unitSize;
+        this.height = rows * unitSize;
+    }
+
+    /**
+     * Gets the number of cells across the board.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of cells down the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the total number of cells on the board.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Gets the size of each cell in pixels.
+     *
+     * @return The unit size.
+     */
+    public int getUnitSize() {
+        return unitSize;
+    }
+
+    /**
+     * Gets the width of the board in pixels.
+     *
+     * @return The board width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the board in pixels.
+     *
+     * @return The board height.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
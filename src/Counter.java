@@ -0,0 +1,25 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Counter class is a metric that only ever goes up, such as the number of ticks played.
+ * It can be incremented from any thread without contention.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * The DirectionQueue class buffers the direction keys pressed between ticks, so that quick presses are
+ * applied one per tick instead of overwriting each other. It is a bounded, lock-free ring buffer with a
+ * single producer, the event dispatch thread, and a single consumer, the thread that steps the model.
+ * <p>
+ * Each tick the consumer takes the oldest queued direction that turns the snake, checked against the last
+ * direction the queue handed out rather than the direction current when the key was pressed, so two presses
+ * within one tick can never reverse the snake onto itself. Presses that would reverse the snake or keep it
+ * going the same way are discarded. When the queue is full, further presses are dropped.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class DirectionQueue implements IntSupplier {
+    private static final int CAPACITY = 8;
+    private static final int MASK = CAPACITY - 1;
+
+    private final char[] directions = new char[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    // Both counters only ever grow; the slot is the counter masked by the capacity
+    private final AtomicInteger head = new AtomicInteger();
+    private final AtomicInteger tail = new AtomicInteger();
+    private char lastDirection;
+    private long appliedTimestamp;
+
+    /**
+     * Constructor to initialize an empty queue for a game that has just been started.
+     *
+     * @param startDirection The direction the snake starts moving in.
+     */
+    public DirectionQueue(char startDirection) {
+        this.lastDirection = startDirection;
+    }
+
+    /**
+     * Adds a key press to the queue. Must only be called from the producer thread.
+     *
+     * @param direction The direction pressed ('U', 'D', 'L', 'R').
+     * @param timestamp The {@link System#nanoTime()} at which the key was pressed.
+     * @return {@code true} if the press was queued, {@code false} if the queue was full.
+     */
+    public boolean offer(char direction, long timestamp) {
+        int index = tail.get();
+        if (index - head.get() == CAPACITY) {
+            return false;
+        }
+        directions[index & MASK] = direction;
+        timestamps[index & MASK] = timestamp;
+        tail.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * Takes the direction for the next tick: the oldest queued press that turns the snake,
+     * or the last direction if there is none. Must only be called from the consumer thread.
+     *
+     * @return The direction for the next tick.
+     */
+    @Override
+    public int getAsInt() {
+        int index = head.get();
+        int end = tail.get();
+        while (index != end) {
+            char direction = directions[index & MASK];
+            long timestamp = timestamps[index & MASK];
+            index++;
+            if (isTurn(lastDirection, direction)) {
+                lastDirection = direction;
+                appliedTimestamp = timestamp;
+                break;
+            }
+        }
+        head.lazySet(index);
+        return lastDirection;
+    }
+
+    /**
+     * Gets when the key behind the turn applied since the previous call was pressed, so the time until the
+     * turn reaches the screen can be measured. Must only be called from the consumer thread.
+     *
+     * @return The {@link System#nanoTime()} of the key press, or 0 if no turn has been applied since.
+     */
+    public long takeAppliedTimestamp() {
+        long timestamp = appliedTimestamp;
+        appliedTimestamp = 0;
+        return timestamp;
+    }
+
+    static boolean isTurn(char current, char direction) {
+        switch (direction) {
+            case 'U':
+            case 'D':
+                return current == 'L' || current == 'R';
+            case 'L':
+            case 'R':
+                return current == 'U' || current == 'D';
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+import javax.swing.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * The GameClient class shows a game played on a {@link GameServer} in a {@link SnakeView}, and sends the
+ * arrow keys to the server as turns. The server's state is a {@link RemoteGame} kept up to date from its
+ * messages: a reader thread receives the bytes and hands them to the event dispatch thread, which applies
+ * them, so the game and the view are only ever touched on that thread.
+ * <p>
+ * The snake shown is a {@link PredictedGame} running ahead of the server, stepped by a timer at the display's
+ * refresh rate, so a turn shows on the next tick rather than after a round trip to the server. The apple
+ * and the score shown are the server's.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class GameClient {
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final SocketChannel channel;
+    private final RemoteGame remoteGame = new RemoteGame();
+    private final ByteBuffer request = ByteBuffer.allocate(1 + VarInt.MAX_BYTES);
+    private ByteBuffer received = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private SnakeView snakeView;
+    private PredictedGame predictedGame;
+    private boolean isResyncRequested;
+
+    /**
+     * Constructor to connect to a server and open a window on its game once the first full state has arrived.
+     *
+     * @param host The host the server runs on.
+     * @param port The port the server listens on.
+     * @throws IOException If the server cannot be reached, or closes the connection before sending the game.
+     */
+    public GameClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        while (!remoteGame.hasState()) {
+            buffer.clear();
+            if (channel.read(buffer) < 0) {
+                throw new IOException("The server closed the connection before sending the game");
+            }
+            apply(Arrays.copyOf(buffer.array(), buffer.position()));
+        }
+        predictedGame = new PredictedGame(remoteGame, System.nanoTime());
+
+        snakeView = new SnakeView(remoteGame.getGeometry());
+        snakeView.addKeyListener(new GameClientKeyListener());
+        snakeView.addResetButtonListener(new GameClientMouseListener());
+        snakeView.addMenuQuitListener(e -> snakeView.showExitConfirmation());
+        snakeView.addMenuEnableGridListener(e -> {
+            snakeView.setShowingGrid(true);
+            snakeView.repaint();
+        });
+        snakeView.addMenuDisableGridListener(e -> {
+            snakeView.setShowingGrid(false);
+            snakeView.repaint();
+        });
+        updateView();
+        new Timer(1000 / SnakeView.getDisplayRefreshRate(), e -> {
+            if (predictedGame.advance(System.nanoTime()) > 0) {
+                updateView();
+            }
+        }).start();
+
+        Thread reader = new Thread(this::receive, "snake-client-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * The loop of the reader thread: passes everything the server sends to the event dispatch thread.
+     */
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try {
+            while (channel.read(buffer.clear()) >= 0) {
+                long now = System.nanoTime();
+                byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+                SwingUtilities.invokeLater(() -> {
+                    if (apply(bytes) > 0) {
+                        resyncIfNeeded();
+                        predictedGame.reconcile(now);
+                        updateView();
+                    }
+                });
+            }
+        } catch (IOException e) {
+            // Treated the same as the server closing the connection
+        }
+        SwingUtilities.invokeLater(() -> {
+            System.err.println("Disconnected from the server");
+            snakeView.setIsRunning(false);
+            snakeView.repaint();
+        });
+    }
+
+    /**
+     * Applies received bytes to the game, keeping any message that has only partly arrived for later.
+     *
+     * @return The number of messages applied.
+     */
+    private int apply(byte[] bytes) {
+        if (received.remaining() < bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(received.capacity() * 2, received.position() + bytes.length));
+            received.flip();
+            larger.put(received);
+            received = larger;
+        }
+        received.put(bytes);
+        received.flip();
+        int count = remoteGame.read(received);
+        received.compact();
+        return count;
+    }
+
+    /**
+     * Passes the predicted snake and the server's apple and score to the view, and repaints the board.
+     */
+    private void updateView() {
+        snakeView.setSnakeBody(predictedGame.getModel().getSnakeBody());
+        snakeView.setAppleX(remoteGame.getAppleX());
+        snakeView.setAppleY(remoteGame.getAppleY());
+        snakeView.setScore(remoteGame.getScore());
+        snakeView.setIsRunning(remoteGame.getIsRunning());
+        snakeView.repaint();
+    }
+
+    /**
+     * Makes a turn in the prediction and sends it to the server with the tick it was made for.
+     *
+     * @param direction The direction to turn to ('U', 'D', 'L', 'R').
+     */
+    private void turn(char direction) {
+        long targetTick = predictedGame.turn(direction);
+        if (targetTick >= 0) {
+            request.clear();
+            GameProtocol.writeTurn(request, direction, targetTick);
+            send();
+        }
+    }
+
+    /**
+     * Asks the server for the full state once the game has gone out of sync, and only once until it arrives.
+     */
+    private void resyncIfNeeded() {
+        if (remoteGame.isOutOfSync() && !isResyncRequested) {
+            request.clear();
+            request.put(GameProtocol.RESYNC);
+            send();
+        }
+        isResyncRequested = remoteGame.isOutOfSync();
+    }
+
+    /**
+     * Asks the server for a new game.
+     */
+    private void requestStart() {
+        request.clear();
+        request.put(GameProtocol.START);
+        send();
+    }
+
+    /**
+     * Sends the request in the buffer. A request that cannot be sent is dropped;
+     * the reader thread finds out that the connection is gone.
+     */
+    private void send() {
+        request.flip();
+        try {
+            channel.write(request);
+        } catch (IOException e) {
+            // The reader thread reports the disconnection
+        }
+    }
+
+    /**
+     * Mouse listener for the reset button, which asks the server for a new game.
+     */
+    private class GameClientMouseListener extends MouseAdapter {
+        @Override
+        public void mousePressed(MouseEvent e) {
+            super.mousePressed(e);
+            requestStart();
+        }
+    }
+
+    /**
+     * Key listener that makes turns, and asks for a new game on Enter.
+     */
+    private class GameClientKeyListener extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_UP:
+                    turn('U');
+                    break;
+                case KeyEvent.VK_DOWN:
+                    turn('D');
+                    break;
+                case KeyEvent.VK_RIGHT:
+                    turn('R');
+                    break;
+                case KeyEvent.VK_LEFT:
+                    turn('L');
+                    break;
+                case KeyEvent.VK_ENTER:
+                    requestStart();
+                    break;
+                case KeyEvent.VK_ESCAPE:
+                    snakeView.showExitConfirmation();
+                    break;
+            }
+        }
+    }
+}
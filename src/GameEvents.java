@@ -0,0 +1,76 @@
+import jdk.jfr.EventType;
+
+/**
+ * The GameEvents class commits the Java Flight Recorder events of a tick: the {@link SnakeTickEvent} itself,
+ * and an {@link AppleSpawnEvent} or {@link GameOverEvent} if the tick ate an apple or ended the game.
+ * When the events are not enabled in a recording, this costs a few checks and allocates nothing.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+final class GameEvents {
+    private static final EventType TICK_EVENT_TYPE = EventType.getEventType(SnakeTickEvent.class);
+    private static final EventType APPLE_EVENT_TYPE = EventType.getEventType(AppleSpawnEvent.class);
+    private static final EventType GAME_OVER_EVENT_TYPE = EventType.getEventType(GameOverEvent.class);
+
+    private GameEvents() {
+    }
+
+    /**
+     * Begins the tick event, before the model is stepped.
+     *
+     * @return The event, or {@code null} if no recording has enabled it.
+     */
+    static SnakeTickEvent beginTick() {
+        if (!TICK_EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        SnakeTickEvent tickEvent = new SnakeTickEvent();
+        tickEvent.begin();
+        return tickEvent;
+    }
+
+    /**
+     * Ends the tick event and commits the tick's events.
+     *
+     * @param tickEvent  The event from {@link #beginTick()}, or {@code null} if no recording has enabled it.
+     * @param snakeModel The model after the tick.
+     * @param tick       The number of ticks the model has played.
+     */
+    static void commitTick(SnakeTickEvent tickEvent, SnakeModel snakeModel, long tick) {
+        if (tickEvent != null) {
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.tick = tick;
+                tickEvent.snakeLength = snakeModel.getSnakeBody().getLength();
+                tickEvent.score = snakeModel.getScore();
+                tickEvent.delay = snakeModel.getDelay();
+                tickEvent.commit();
+            }
+        }
+
+        TickDelta tickDelta = snakeModel.getTickDelta();
+        if (tickDelta.isScoreChanged() && APPLE_EVENT_TYPE.isEnabled()) {
+            AppleSpawnEvent appleEvent = new AppleSpawnEvent();
+            if (appleEvent.shouldCommit()) {
+                appleEvent.tick = tick;
+                appleEvent.appleX = snakeModel.getAppleX();
+                appleEvent.appleY = snakeModel.getAppleY();
+                appleEvent.snakeLength = snakeModel.getSnakeBody().getLength();
+                appleEvent.score = snakeModel.getScore();
+                appleEvent.commit();
+            }
+        }
+        if (tickDelta.isGameOver() && GAME_OVER_EVENT_TYPE.isEnabled()) {
+            GameOverEvent gameOverEvent = new GameOverEvent();
+            if (gameOverEvent.shouldCommit()) {
+                gameOverEvent.tick = tick;
+                gameOverEvent.cause = snakeModel.getGameOverCause();
+                gameOverEvent.snakeLength = snakeModel.getSnakeBody().getLength();
+                gameOverEvent.score = snakeModel.getScore();
+                gameOverEvent.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The GameOverEvent class is a Java Flight Recorder event marking the tick on which a game ended.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Name("snake.GameOver")
+@Label("Game Over")
+@Category("Snake Game")
+@Description("A game ended")
+class GameOverEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Cause")
+    @Description("wall, self or board full")
+    String cause;
+
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Score")
+    int score;
+}
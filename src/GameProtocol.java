@@ -0,0 +1,148 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The GameProtocol class encodes the messages a {@link GameServer} sends to its clients. Every message is
+ * framed by its length as a {@link VarInt}, followed by a type byte and the payload.
+ * <p>
+ * A client is sent the full state of the game when it joins and whenever a new game starts. From then on
+ * each tick is sent as the changes it made, which the client applies to its copy of the state: the
+ * direction the head moved in, whether the snake grew, the new apple and whether the game ended. The tail
+ * is never sent, because the client can tell where it was, so a typical tick takes a handful of bytes however
+ * long the snake is. Each tick carries its number, so a client can tell if its state has drifted from the
+ * server's. See {@link RemoteGame} for decoding the messages.
+ * </p>
+ * <pre>
+ * full state: the game's state as laid out by {@link SnapshotCodec}
+ * tick:       varint tick number, byte flags (direction in the low two bits, then moved, grew, apple moved,
+ *             game over), varint apple cell if it moved
+ * ack:        varint tick, number of the client's turns taken by then, signed ticks the latest one
+ *             arrived ahead of its tick (negative if it arrived too late)
+ * </pre>
+ * <p>
+ * Clients send a turn as its direction ('U', 'D', 'L', 'R') followed by the varint tick it is meant for,
+ * so a client that predicts the game ahead of the server can have its turns played on the ticks it
+ * predicted them on; see {@link PredictedGame}. A single 'S' starts a new game once the current one has
+ * ended, and a single 'F' asks for the full state again, which a client whose state has drifted does to
+ * resync. An ack is sent only to the client whose turns were taken.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class GameProtocol {
+    static final byte FULL_STATE = 1;
+    static final byte TICK = 2;
+    static final byte ACK = 3;
+
+    // The flags of a tick, above the index of the direction in DIRECTIONS
+    static final int MOVED = 1 << 2;
+    static final int GREW = 1 << 3;
+    static final int APPLE_MOVED = 1 << 4;
+    static final int GAME_OVER = 1 << 5;
+    static final String DIRECTIONS = "UDLR";
+
+    static final byte START = 'S';
+    static final byte RESYNC = 'F';
+
+    // The longest frame length prefix, for frames up to 2^28 bytes
+    private static final int MAX_LENGTH_BYTES = 4;
+
+    private GameProtocol() {
+    }
+
+    /**
+     * Gets the size of the largest full state message for a model's board, so buffers can be sized once.
+     *
+     * @param snakeModel The game.
+     * @return The size in bytes, including the frame.
+     */
+    static int getMaxFullStateSize(SnakeModel snakeModel) {
+        return MAX_LENGTH_BYTES + 1 + SnapshotCodec.getMaxSize(snakeModel);
+    }
+
+    /**
+     * Writes a message with the full state of a game.
+     *
+     * @param out             The buffer to write to, with room for {@link #getMaxFullStateSize(SnakeModel)} bytes.
+     * @param payload         A scratch buffer of the same size, for the message before it is framed.
+     * @param snakeModel      The game.
+     * @param tick            The number of ticks the server has played.
+     * @param tickPeriodNanos The server's fixed time between ticks, or 0 if it follows the model's delay.
+     * @param cells           A scratch array of at least the model's body capacity.
+     */
+    static void writeFullState(ByteBuffer out, ByteBuffer payload, SnakeModel snakeModel, long tick,
+                               long tickPeriodNanos, int[] cells) {
+        payload.clear();
+        payload.put(FULL_STATE);
+        SnapshotCodec.write(payload, snakeModel, tick, tickPeriodNanos, cells);
+        putFrame(out, payload.flip());
+    }
+
+    /**
+     * Writes a message with the changes made by the model's latest tick.
+     *
+     * @param out        The buffer to write to.
+     * @param snakeModel The game, just after its tick.
+     * @param tick       The number of ticks the server has played, including this one.
+     */
+    static void writeTick(ByteBuffer out, SnakeModel snakeModel, long tick) {
+        TickDelta tickDelta = snakeModel.getTickDelta();
+        int flags = DIRECTIONS.indexOf(snakeModel.getDirection());
+        if (tickDelta.getHeadCell() >= 0) {
+            flags |= MOVED;
+        }
+        if (tickDelta.isScoreChanged()) {
+            flags |= GREW;
+        }
+        boolean isAppleMoved = tickDelta.getAppleCell() >= 0;
+        if (isAppleMoved) {
+            flags |= APPLE_MOVED;
+        }
+        if (tickDelta.isGameOver()) {
+            flags |= GAME_OVER;
+        }
+        int length = 2 + VarInt.size(tick) + (isAppleMoved ? VarInt.size(tickDelta.getAppleCell()) : 0);
+        VarInt.putUnsigned(out, length);
+        out.put(TICK);
+        VarInt.putUnsigned(out, tick);
+        out.put((byte) flags);
+        if (isAppleMoved) {
+            VarInt.putUnsigned(out, tickDelta.getAppleCell());
+        }
+    }
+
+    /**
+     * Writes a message telling a client how many of its turns have been taken.
+     *
+     * @param out       The buffer to write to.
+     * @param tick      The tick the turns have been taken by, whose tick message the client applies the ack with.
+     * @param taken     The number of the client's turns taken since it connected, whether played or discarded.
+     * @param earliness How many ticks ahead of its tick the latest turn taken arrived.
+     */
+    static void writeAck(ByteBuffer out, long tick, long taken, long earliness) {
+        int length = 1 + VarInt.size(tick) + VarInt.size(taken) + VarInt.size((earliness << 1) ^ (earliness >> 63));
+        VarInt.putUnsigned(out, length);
+        out.put(ACK);
+        VarInt.putUnsigned(out, tick);
+        VarInt.putUnsigned(out, taken);
+        VarInt.putSigned(out, earliness);
+    }
+
+    /**
+     * Writes a client's turn.
+     *
+     * @param out        The buffer to write to.
+     * @param direction  The direction to turn to ('U', 'D', 'L', 'R').
+     * @param targetTick The tick the turn is meant to be played on.
+     */
+    static void writeTurn(ByteBuffer out, char direction, long targetTick) {
+        out.put((byte) direction);
+        VarInt.putUnsigned(out, targetTick);
+    }
+
+    private static void putFrame(ByteBuffer out, ByteBuffer payload) {
+        VarInt.putUnsigned(out, payload.remaining());
+        out.put(payload);
+    }
+}
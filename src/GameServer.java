@@ -0,0 +1,569 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The GameServer class plays a game of Snake without a window and streams it to clients over TCP.
+ * The server's model is the only authority on the game; clients send turns and show what the server sends
+ * back, as described in {@link GameProtocol}.
+ * <p>
+ * A single thread does everything with non-blocking channels and one selector: it accepts clients, reads
+ * their turns, steps the model at the tick rate, and writes each tick's message to every client. The message is encoded once per tick and copied into each client's outgoing
+ * buffer, which is written as far as the socket takes it. A client that falls so far behind that its buffer
+ * fills up is disconnected rather than slowing the game down.
+ * </p>
+ * <p>
+ * Each client's turns wait in a queue of the client's own until the tick they are meant for, so a turn meant
+ * for a later tick holds up only the turns behind it from the same client. Each tick takes the due turns at
+ * the heads of the queues in order of their ticks, and of arrival for the same tick, the way a
+ * {@link DirectionQueue} does: the first that turns the snake is played, and any before it that would not
+ * turn the snake are discarded. A turn that arrives after its tick is played as soon as possible, and the
+ * client is told how late it was in the ack of the turn. A turn arriving at a full queue is discarded and
+ * acked as taken, which touches no other client's turns.
+ * </p>
+ * <p>
+ * When a game ends, a new one starts once a client asks for it, or after a few seconds if none does.
+ * </p>
+ * <p>
+ * An unexpected exception is logged and kept to the tick or client it came from, so the server keeps running:
+ * a tick that fails starts a new game, and a client whose requests fail is disconnected.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class GameServer implements Runnable {
+    public static final int DEFAULT_PORT = 5555;
+    private static final long RESTART_DELAY_NANOS = 3_000_000_000L;
+    private static final int MAX_TICKS_BEHIND = 8;
+    private static final int READ_BUFFER_SIZE = 64;
+    private static final int TICK_BUFFER_SIZE = 64;
+    private static final int TURN_CAPACITY = 16;
+    private static final int TURN_MASK = TURN_CAPACITY - 1;
+    // How far ahead of the server a turn may be meant for, so a client cannot hold up its own queue for long
+    private static final int MAX_TURN_LEAD = 32;
+    private static final int MAX_ACK_SIZE = 1 + 1 + 3 * VarInt.MAX_BYTES;
+
+    private final SnakeModel snakeModel;
+    private final String difficulty;
+    private final int requestedPort;
+    private final List<Client> clients = new ArrayList<>();
+    private final ByteBuffer tickBuffer = ByteBuffer.allocate(TICK_BUFFER_SIZE);
+    private final ByteBuffer fullState;
+    private final ByteBuffer fullStatePayload;
+    private final int[] cells;
+    private final int clientBufferSize;
+    // The tick the full state was encoded at, so it is encoded again only once a tick has been played
+    private long fullStateTick;
+    // The number of turns that have arrived from every client, to order turns meant for the same tick
+    private long arrivedTurns;
+    private long tickPeriodNanos;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean isRunning;
+    private volatile long tick;
+    private volatile int clientCount;
+    private long gameOverTime;
+    private boolean isRestartRequested;
+    // Optional metrics; null unless enabled
+    private Counter bytesSent;
+    private Counter droppedClients;
+    private LatencyHistogram tickTime;
+
+    /**
+     * Constructor to initialize a server for games on a board of the given size.
+     *
+     * @param geometry   The size of the game board.
+     * @param difficulty The difficulty every game is played at ("easy", "medium", "hard").
+     * @param port       The port to listen on, or 0 for any free port.
+     */
+    public GameServer(BoardGeometry geometry, String difficulty, int port) {
+        this.snakeModel = new SnakeModel(geometry, System.nanoTime());
+        this.difficulty = difficulty;
+        this.requestedPort = port;
+        int fullStateSize = GameProtocol.getMaxFullStateSize(snakeModel);
+        this.fullState = ByteBuffer.allocate(fullStateSize);
+        this.fullStatePayload = ByteBuffer.allocate(fullStateSize);
+        this.cells = new int[snakeModel.getBodyCapacity()];
+        // Room for a full state and a good few seconds of ticks behind it
+        this.clientBufferSize = fullStateSize + 4096;
+    }
+
+    /**
+     * Sets a fixed time between ticks, in place of the model's delay, which shrinks as the snake grows.
+     *
+     * @param tickPeriodNanos The time between ticks in nanoseconds, or 0 to follow the model.
+     */
+    public void setTickPeriod(long tickPeriodNanos) {
+        this.tickPeriodNanos = tickPeriodNanos;
+    }
+
+    /**
+     * Starts recording metrics: the bytes sent ({@code server.bytesSent}), the clients dropped for falling
+     * behind ({@code server.droppedClients}), the time to play and send a tick ({@code server.tickTime}),
+     * and the number of clients ({@code server.clients}).
+     *
+     * @param metrics The registry to record to.
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.bytesSent = metrics.counter("server.bytesSent");
+        this.droppedClients = metrics.counter("server.droppedClients");
+        this.tickTime = metrics.histogram("server.tickTime");
+        metrics.gauge("server.clients", () -> clientCount);
+    }
+
+    /**
+     * Binds the port and starts the server's thread.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(requestedPort));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        startGame();
+        isRunning = true;
+        thread = new Thread(this, "snake-server");
+        thread.start();
+    }
+
+    /**
+     * Stops the server, disconnecting every client, and waits for its thread to finish.
+     */
+    public void stop() {
+        isRunning = false;
+        if (thread == null) {
+            return;
+        }
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Gets the port the server listens on, once started.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of ticks played since the server started, across every game.
+     *
+     * @return The tick number.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + tickNanos();
+        try {
+            while (isRunning) {
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    playTickOrRestart(now);
+                    long tickNanos = tickNanos();
+                    nextTick += tickNanos;
+                    if (now - nextTick > tickNanos * MAX_TICKS_BEHIND) {
+                        nextTick = now + tickNanos;
+                    }
+                }
+                // Rounded up, so the thread sleeps until the tick is due rather than spinning for the last millisecond
+                long waitNanos = nextTick - System.nanoTime();
+                if (waitNanos > 0) {
+                    selector.select((waitNanos + 999_999) / 1_000_000);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelectedKeys();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("The game server stopped: " + e);
+        } finally {
+            close();
+        }
+    }
+
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Client client = (Client) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(client);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(client);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Disconnecting a client after an error");
+                e.printStackTrace();
+                disconnect(client);
+            }
+        }
+    }
+
+    /**
+     * Accepts the clients waiting to connect, and queues the current full state of the game for each.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(channel, ByteBuffer.allocate(READ_BUFFER_SIZE), ByteBuffer.allocate(clientBufferSize));
+            client.key = channel.register(selector, SelectionKey.OP_READ, client);
+            clients.add(client);
+            clientCount = clients.size();
+            sendFullState(client);
+        }
+    }
+
+    /**
+     * Queues the full state of the game as it is now for a client, a client joining mid-game or one whose
+     * state has drifted, encoding it again if a tick has been played since it last was.
+     */
+    private void sendFullState(Client client) {
+        if (fullStateTick != tick) {
+            encodeFullState();
+        }
+        if (client.out.remaining() < fullState.remaining()) {
+            disconnect(client);
+            return;
+        }
+        client.out.put(fullState.duplicate());
+        flush(client);
+    }
+
+    /**
+     * Reads a client's requests: turns are queued for their ticks, a start request is
+     * remembered until the current game has ended, and a resync request is answered with the full state.
+     */
+    private void read(Client client) {
+        int count;
+        try {
+            count = client.channel.read(client.in);
+        } catch (IOException e) {
+            count = -1;
+        }
+        if (count < 0) {
+            disconnect(client);
+            return;
+        }
+        ByteBuffer in = client.in.flip();
+        while (in.hasRemaining()) {
+            int start = in.position();
+            byte request = in.get();
+            if (request == GameProtocol.START) {
+                isRestartRequested = true;
+            } else if (request == GameProtocol.RESYNC) {
+                sendFullState(client);
+            } else if (GameProtocol.DIRECTIONS.indexOf(request) >= 0) {
+                long targetTick;
+                try {
+                    targetTick = VarInt.getUnsigned(in);
+                } catch (BufferUnderflowException e) {
+                    // The rest of the turn has not arrived yet
+                    in.position(start);
+                    break;
+                }
+                offerTurn(client, (char) request, targetTick);
+            }
+        }
+        in.compact();
+    }
+
+    /**
+     * Queues a turn in its client's queue for its tick, or discards it straight away if that queue is full.
+     */
+    private void offerTurn(Client client, char direction, long targetTick) {
+        long firstTick = tick + 1;
+        long earliness = targetTick - firstTick;
+        if (client.turnCount == TURN_CAPACITY) {
+            takeTurn(client, earliness);
+            return;
+        }
+        int slot = (client.turnHead + client.turnCount) & TURN_MASK;
+        client.turnDirections[slot] = direction;
+        client.turnTicks[slot] = Math.min(targetTick, firstTick + MAX_TURN_LEAD);
+        client.turnArrivals[slot] = arrivedTurns++;
+        client.queuedEarliness[slot] = earliness;
+        client.turnCount++;
+    }
+
+    /**
+     * Takes the direction for the tick about to be played: of the turns due by then at the heads of the
+     * clients' queues, taken in order of their ticks and then of arrival, the first that turns the snake.
+     * The due turns taken before it, which do not turn the snake, are discarded.
+     */
+    private char nextDirection() {
+        char direction = snakeModel.getDirection();
+        long playing = tick + 1;
+        Client next;
+        while ((next = nextDueTurn(playing)) != null) {
+            int head = next.turnHead;
+            char turn = next.turnDirections[head];
+            takeTurn(next, next.queuedEarliness[head]);
+            next.turnHead = (head + 1) & TURN_MASK;
+            next.turnCount--;
+            if (DirectionQueue.isTurn(direction, turn)) {
+                return turn;
+            }
+        }
+        return direction;
+    }
+
+    /**
+     * Finds the client whose queue starts with the earliest turn due by a tick.
+     *
+     * @return The client, or {@code null} if no queue starts with a due turn.
+     */
+    private Client nextDueTurn(long playing) {
+        Client next = null;
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            if (client.turnCount == 0) {
+                continue;
+            }
+            int head = client.turnHead;
+            long turnTick = client.turnTicks[head];
+            if (turnTick > playing) {
+                continue;
+            }
+            if (next == null || turnTick < next.turnTicks[next.turnHead]
+                    || turnTick == next.turnTicks[next.turnHead]
+                    && client.turnArrivals[head] < next.turnArrivals[next.turnHead]) {
+                next = client;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Counts a client's turn as taken, to be acked with the next message sent.
+     */
+    private static void takeTurn(Client client, long earliness) {
+        client.takenTurns++;
+        client.turnEarliness = earliness;
+        client.isAckPending = true;
+    }
+
+    /**
+     * Discards every queued turn, when a new game starts.
+     */
+    private void clearTurns() {
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            while (client.turnCount > 0) {
+                takeTurn(client, client.queuedEarliness[client.turnHead]);
+                client.turnHead = (client.turnHead + 1) & TURN_MASK;
+                client.turnCount--;
+            }
+        }
+    }
+
+    /**
+     * Plays a tick, or if that fails, logs the error and starts a new game so every client is sent
+     * a state it can trust.
+     */
+    private void playTickOrRestart(long now) {
+        try {
+            playTick(now);
+        } catch (RuntimeException e) {
+            System.err.println("The game server failed to play tick " + (tick + 1) + ", and starts a new game");
+            e.printStackTrace();
+            startGame();
+            broadcast(fullState);
+        }
+    }
+
+    /**
+     * Plays a tick and sends it to every client, or starts a new game if the last one has ended.
+     */
+    private void playTick(long now) {
+        if (!snakeModel.getIsRunning()) {
+            if (isRestartRequested || now - gameOverTime >= RESTART_DELAY_NANOS) {
+                startGame();
+                broadcast(fullState);
+            }
+            return;
+        }
+        SnakeTickEvent tickEvent = GameEvents.beginTick();
+        boolean isGameRunning = snakeModel.step(nextDirection());
+        tick++;
+        GameEvents.commitTick(tickEvent, snakeModel, tick);
+        tickBuffer.clear();
+        GameProtocol.writeTick(tickBuffer, snakeModel, tick);
+        broadcast(tickBuffer.flip());
+        if (!isGameRunning) {
+            gameOverTime = now;
+            isRestartRequested = false;
+        }
+        if (tickTime != null) {
+            tickTime.record(System.nanoTime() - now);
+        }
+    }
+
+    /**
+     * Starts a new game and encodes its full state, ready to be sent.
+     */
+    private void startGame() {
+        snakeModel.startGame(difficulty);
+        clearTurns();
+        encodeFullState();
+    }
+
+    private void encodeFullState() {
+        fullState.clear();
+        GameProtocol.writeFullState(fullState, fullStatePayload, snakeModel, tick, tickPeriodNanos, cells);
+        fullState.flip();
+        fullStateTick = tick;
+    }
+
+    /**
+     * Queues a message for every client, after an ack for a client whose turns have been taken,
+     * and writes as much as each socket takes.
+     */
+    private void broadcast(ByteBuffer message) {
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            Client client = clients.get(i);
+            if (client.out.remaining() < message.remaining() + MAX_ACK_SIZE) {
+                if (droppedClients != null) {
+                    droppedClients.increment();
+                }
+                disconnect(client);
+                continue;
+            }
+            if (client.isAckPending) {
+                GameProtocol.writeAck(client.out, tick, client.takenTurns, client.turnEarliness);
+                client.isAckPending = false;
+            }
+            client.out.put(message.duplicate());
+            flush(client);
+        }
+    }
+
+    /**
+     * Writes a client's queued bytes, watching for the socket to become writable again if it did not take them all.
+     */
+    private void flush(Client client) {
+        client.out.flip();
+        try {
+            int count = client.channel.write(client.out);
+            if (bytesSent != null) {
+                bytesSent.add(count);
+            }
+        } catch (IOException e) {
+            client.out.clear();
+            disconnect(client);
+            return;
+        }
+        boolean isPending = client.out.hasRemaining();
+        client.out.compact();
+        try {
+            client.key.interestOps(isPending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        } catch (IllegalStateException e) {
+            // The key was cancelled: the client has just been disconnected
+        }
+    }
+
+    private void disconnect(Client client) {
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // The client is gone either way
+        }
+        clients.remove(client);
+        clientCount = clients.size();
+    }
+
+    private void close() {
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            disconnect(clients.get(i));
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            // Shutting down anyway
+        }
+    }
+
+    private long tickNanos() {
+        return tickPeriodNanos > 0 ? tickPeriodNanos : Math.max(1, snakeModel.getDelay()) * 1_000_000L;
+    }
+
+    /**
+     * Runs a server from the command line until the process is stopped.
+     *
+     * @param port       The port to listen on.
+     * @param difficulty The difficulty every game is played at.
+     * @throws IOException If the port cannot be bound.
+     */
+    static void serve(int port, String difficulty) throws IOException {
+        GameServer server = new GameServer(SnakeView.DEFAULT_GEOMETRY, difficulty, port);
+        server.start();
+        System.out.println("Snake server listening on port " + server.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+    }
+
+    /**
+     * A connected client: its channel, its key in the selector, the bytes read from it and waiting
+     * to be written to it, its queued turns in the order they arrived, and the turns of its that have been taken.
+     */
+    private static class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer in;
+        private final ByteBuffer out;
+        private final char[] turnDirections = new char[TURN_CAPACITY];
+        private final long[] turnTicks = new long[TURN_CAPACITY];
+        private final long[] turnArrivals = new long[TURN_CAPACITY];
+        private final long[] queuedEarliness = new long[TURN_CAPACITY];
+        private int turnHead;
+        private int turnCount;
+        private SelectionKey key;
+        private long takenTurns;
+        private long turnEarliness;
+        private boolean isAckPending;
+
+        private Client(SocketChannel channel, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.in = in;
+            this.out = out;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * The GameSnapshot class is a copy of a SnakeModel's state taken after a tick, for rendering on
+ * another thread while the simulation carries on. Besides the body, apple and score it records the
+ * cells changed by the tick, so the view can repaint just those.
+ * <p>
+ * Snapshots are pooled by a {@link SnapshotExchange}, which guarantees that a snapshot is only filled in
+ * while the rendering thread cannot see it.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class GameSnapshot implements SnakeBody {
+    private static final int MAX_CHANGED_CELLS = 5;
+
+    private final int columns;
+    private final int[] cells;
+    private final int[] changedCells = new int[MAX_CHANGED_CELLS];
+    private long tick;
+    private int length;
+    private int headSerial;
+    private int appleX;
+    private int appleY;
+    private int score;
+    private boolean isRunning;
+    private int changedCellCount;
+    private boolean isScoreChanged;
+    private long inputTimestamp;
+    private long inputTick;
+
+    /**
+     * Constructor to initialize an empty snapshot large enough for any state of a model.
+     *
+     * @param snakeModel The model that will be copied into the snapshot.
+     */
+    public GameSnapshot(SnakeModel snakeModel) {
+        this.columns = snakeModel.getGeometry().getColumns();
+        this.cells = new int[snakeModel.getBodyCapacity()];
+    }
+
+    /**
+     * Copies the state of a model, and the changes made by its latest tick, into the snapshot.
+     *
+     * @param snakeModel     The model to copy.
+     * @param tick           The number of ticks the model has played.
+     * @param inputTimestamp When the key behind the latest turn not yet known to be shown was pressed, or 0.
+     * @param inputTick      The tick that applied that turn.
+     */
+    void capture(SnakeModel snakeModel, long tick, long inputTimestamp, long inputTick) {
+        this.tick = tick;
+        this.inputTimestamp = inputTimestamp;
+        this.inputTick = inputTick;
+        this.length = snakeModel.copyBodyCells(cells);
+        this.headSerial = snakeModel.getHeadSerial();
+        this.appleX = snakeModel.getAppleX();
+        this.appleY = snakeModel.getAppleY();
+        this.score = snakeModel.getScore();
+        this.isRunning = snakeModel.getIsRunning();
+
+        TickDelta tickDelta = snakeModel.getTickDelta();
+        changedCellCount = 0;
+        addChangedCell(tickDelta.getHeadCell());
+        addChangedCell(tickDelta.getPreviousHeadCell());
+        addChangedCell(tickDelta.getRemovedCell());
+        addChangedCell(tickDelta.getPreviousAppleCell());
+        addChangedCell(tickDelta.getAppleCell());
+        isScoreChanged = tickDelta.isScoreChanged();
+    }
+
+    private void addChangedCell(int cell) {
+        if (cell >= 0) {
+            changedCells[changedCellCount++] = cell;
+        }
+    }
+
+    /**
+     * Gets the number of ticks the model had played when the snapshot was taken.
+     *
+     * @return The tick number.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public int getAppleX() {
+        return appleX;
+    }
+
+    public int getAppleY() {
+        return appleY;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean getIsRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Gets the number of cells changed by the tick.
+     *
+     * @return The changed cell count.
+     */
+    public int getChangedCellCount() {
+        return changedCellCount;
+    }
+
+    /**
+     * Gets a cell changed by the tick.
+     *
+     * @param index The index of the changed cell, below {@link #getChangedCellCount()}.
+     * @return The packed cell index.
+     */
+    public int getChangedCell(int index) {
+        return changedCells[index];
+    }
+
+    /**
+     * Gets when the key behind a turn shown for the first time by this snapshot, or possibly by an earlier
+     * one, was pressed. The turn is identified by {@link #getInputTick()}, so it can be measured only once.
+     *
+     * @return The {@link System#nanoTime()} of the key press, or 0 if there is no such turn.
+     */
+    public long getInputTimestamp() {
+        return inputTimestamp;
+    }
+
+    /**
+     * Gets the tick that applied the turn timed by {@link #getInputTimestamp()}.
+     *
+     * @return The tick number, or 0 if there is no such turn.
+     */
+    public long getInputTick() {
+        return inputTick;
+    }
+
+    /**
+     * Checks if the score changed during the tick.
+     *
+     * @return {@code true} if the score changed, {@code false} otherwise.
+     */
+    public boolean isScoreChanged() {
+        return isScoreChanged;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public int getX(int index) {
+        return cells[index] % columns;
+    }
+
+    @Override
+    public int getY(int index) {
+        return cells[index] / columns;
+    }
+
+    @Override
+    public int getSegmentId(int index) {
+        return headSerial - index;
+    }
+}
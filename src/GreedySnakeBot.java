@@ -0,0 +1,54 @@
+/**
+ * The GreedySnakeBot class steers the snake straight towards the apple,
+ * avoiding any move that would hit a wall or the snake's own body on the next tick.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class GreedySnakeBot implements SnakeBot {
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    @Override
+    public char chooseDirection(SnakeModel snakeModel) {
+        SnakeBody snakeBody = snakeModel.getSnakeBody();
+        int headX = snakeBody.getX(0);
+        int headY = snakeBody.getY(0);
+        char bestDirection = snakeModel.getDirection();
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (char direction : DIRECTIONS) {
+            int nextX = headX + deltaX(direction);
+            int nextY = headY + deltaY(direction);
+            if (snakeModel.isBlocked(nextX, nextY)) {
+                continue;
+            }
+            int distance = Math.abs(snakeModel.getAppleX() - nextX) + Math.abs(snakeModel.getAppleY() - nextY);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestDirection = direction;
+            }
+        }
+        return bestDirection;
+    }
+
+    /**
+     * Gets the change in column when moving in a direction.
+     *
+     * @param direction The direction ('U', 'D', 'L', 'R').
+     * @return -1, 0 or 1.
+     */
+    private static int deltaX(char direction) {
+        return direction == 'R' ? 1 : direction == 'L' ? -1 : 0;
+    }
+
+    /**
+     * Gets the change in row when moving in a direction.
+     *
+     * @param direction The direction ('U', 'D', 'L', 'R').
+     * @return -1, 0 or 1.
+     */
+    private static int deltaY(char direction) {
+        return direction == 'D' ? 1 : direction == 'U' ? -1 : 0;
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * The LatencyHistogram class counts durations in nanoseconds in log-linear buckets, in the style of
+ * an HDR histogram: every power of two is split into 32 equal buckets, so any recorded value is known
+ * to within about 3% while the whole range of a {@code long} fits in a fixed array.
+ * Recording is a few arithmetic operations and never allocates.
+ * <p>
+ * Values should be recorded by one thread at a time. Reading from another thread is safe
+ * but may see a recording that is only partly applied.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final double[] REPORT_PERCENTILES = {50, 75, 90, 95, 99, 99.9, 100};
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a duration. Negative durations are counted as zero.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketIndex(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Gets the duration below or at which the given percentage of the recorded durations fall,
+     * rounded up to the end of its bucket.
+     *
+     * @param percentile The percentage, from 0 to 100.
+     * @return The duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(index), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Prints the count, mean, maximum and a table of percentiles, all in milliseconds.
+     *
+     * @param out   The stream to print to.
+     * @param title The title of the report.
+     */
+    public void writeReport(PrintStream out, String title) {
+        out.println(title);
+        out.printf("  count %d, mean %.3f ms, max %.3f ms%n", count, getMean() / 1e6, max / 1e6);
+        for (double percentile : REPORT_PERCENTILES) {
+            out.printf("  p%-5s %10.3f ms%n", formatPercentile(percentile), getValueAtPercentile(percentile) / 1e6);
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile);
+    }
+
+    /**
+     * Maps a value to its bucket. Values below twice the sub-bucket count get a bucket of their own;
+     * above that, the value's top bits pick the power of two and the next five bits pick the sub-bucket.
+     */
+    private static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,116 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The MetricsRegistry class collects the game's metrics by name: counters, gauges read on demand,
+ * and histograms of durations in nanoseconds. Metrics are created once, when the parts of the game
+ * are wired together, and then updated without locks or allocation.
+ * <p>
+ * The current values can be read as one flat map, in which every histogram is expanded into its count,
+ * mean, percentiles and maximum. That map backs both the JMX MBean and the periodic {@link MetricsReporter}.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class MetricsRegistry {
+    public static final String OBJECT_NAME = "SnakeGame:type=Metrics";
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Gets the counter with the given name, creating it the first time.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Adds a gauge, whose value is read whenever the metrics are.
+     *
+     * @param name  The name of the gauge.
+     * @param value Supplies the gauge's current value.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Gets the histogram with the given name, creating it the first time.
+     * Each histogram should only be recorded to by one thread at a time.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Adds gauges for the collection count and time of every garbage collector, and for the heap in use.
+     */
+    public void addGcGauges() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = "gc." + collector.getName().replace(' ', '_');
+            gauge(name + ".count", collector::getCollectionCount);
+            gauge(name + ".timeMillis", collector::getCollectionTime);
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        gauge("heap.usedBytes", () -> memory.getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under {@link #OBJECT_NAME}.
+     *
+     * @throws IllegalStateException If the MBean could not be registered.
+     */
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the metrics MBean", e);
+        }
+    }
+
+    /**
+     * Forgets every duration recorded so far. A recording made at the same moment may be partly lost.
+     */
+    public void resetHistograms() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Reads every metric. Histograms are expanded into {@code .count}, {@code .mean}, {@code .p50},
+     * {@code .p90}, {@code .p99} and {@code .max} entries, in nanoseconds.
+     *
+     * @return The current values, sorted by name.
+     */
+    public SortedMap<String, Long> getValues() {
+        SortedMap<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        histograms.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.getCount());
+            values.put(name + ".mean", Math.round(histogram.getMean()));
+            values.put(name + ".p50", histogram.getValueAtPercentile(50));
+            values.put(name + ".p90", histogram.getValueAtPercentile(90));
+            values.put(name + ".p99", histogram.getValueAtPercentile(99));
+            values.put(name + ".max", histogram.getMax());
+        });
+        return values;
+    }
+}
@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MetricsReporter class appends the values of a {@link MetricsRegistry} to a file at a fixed period,
+ * on a daemon thread of its own. A file whose name ends in {@code .json} gets one JSON object per line;
+ * any other file gets CSV, with a header naming the columns taken from the first report.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class MetricsReporter {
+    private final MetricsRegistry metrics;
+    private final Path path;
+    private final long periodMillis;
+    private final boolean isJson;
+    private ScheduledExecutorService executor;
+    private List<String> columns;
+
+    /**
+     * Constructor to initialize the reporter.
+     *
+     * @param metrics      The metrics to report.
+     * @param path         The file to append the reports to.
+     * @param periodMillis The time between reports in milliseconds.
+     */
+    public MetricsReporter(MetricsRegistry metrics, Path path, long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("The report period must be positive: " + periodMillis);
+        }
+        this.metrics = metrics;
+        this.path = path;
+        this.periodMillis = periodMillis;
+        this.isJson = path.getFileName().toString().endsWith(".json");
+    }
+
+    /**
+     * Starts reporting.
+     */
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snake-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops reporting, after writing one last report.
+     */
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+            report();
+        }
+    }
+
+    /**
+     * Appends the current values to the file. A report that cannot be written is skipped
+     * with a message on the standard error, so a full disk does not stop the game.
+     */
+    synchronized void report() {
+        long time = System.currentTimeMillis();
+        SortedMap<String, Long> values = metrics.getValues();
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (isJson) {
+                writeJson(out, time, values);
+            } else {
+                writeCsv(out, time, values);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeJson(PrintWriter out, long time, SortedMap<String, Long> values) {
+        StringBuilder line = new StringBuilder("{\"time\":").append(time);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            line.append(",\"").append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        out.println(line.append('}'));
+    }
+
+    private void writeCsv(PrintWriter out, long time, SortedMap<String, Long> values) {
+        if (columns == null) {
+            columns = new ArrayList<>(values.keySet());
+            out.println("time," + String.join(",", columns));
+        }
+        StringBuilder line = new StringBuilder().append(time);
+        for (String column : columns) {
+            Long value = values.get(column);
+            line.append(',').append(value == null ? "" : value.toString());
+        }
+        out.println(line);
+    }
+}
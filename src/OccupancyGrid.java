@@ -0,0 +1,141 @@
+import java.util.Random;
+
+/**
+ * The OccupancyGrid class tracks which cells of the board are covered by the snake.
+ * Cells are identified by their packed index (row * columns + column) and stored as one bit each,
+ * so marking, clearing and testing a cell are all constant-time operations.
+ * <p>
+ * The free cells are also kept in a dense array with a position map, so that a uniformly random
+ * free cell can be picked in constant time no matter how full the board is.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class OccupancyGrid {
+    private final int cellCount;
+    private final long[] bits;
+    private final int[] freeCells;
+    private final int[] freePositions;
+    private int freeCount;
+
+    /**
+     * Constructor to initialize an empty grid.
+     *
+     * @param cellCount The number of cells on the board.
+     */
+    public OccupancyGrid(int cellCount) {
+        this.cellCount = cellCount;
+        this.bits = new long[(cellCount + 63) >>> 6];
+        this.freeCells = new int[cellCount];
+        this.freePositions = new int[cellCount];
+        clear();
+    }
+
+    /**
+     * Gets the number of cells on the board.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Gets the number of free cells on the board.
+     *
+     * @return The free cell count.
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Marks every cell as free.
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = 0L;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            freeCells[cell] = cell;
+            freePositions[cell] = cell;
+        }
+        freeCount = cellCount;
+    }
+
+    /**
+     * Marks a cell as occupied, removing it from the free cells.
+     *
+     * @param cell The packed cell index.
+     */
+    public void occupy(int cell) {
+        if (isOccupied(cell)) {
+            return;
+        }
+        bits[cell >>> 6] |= 1L << cell;
+
+        // Swap the last free cell into the removed cell's position
+        int position = freePositions[cell];
+        int lastCell = freeCells[--freeCount];
+        freeCells[position] = lastCell;
+        freePositions[lastCell] = position;
+        freeCells[freeCount] = cell;
+        freePositions[cell] = freeCount;
+    }
+
+    /**
+     * Marks a cell as free, adding it back to the free cells.
+     *
+     * @param cell The packed cell index.
+     */
+    public void release(int cell) {
+        if (!isOccupied(cell)) {
+            return;
+        }
+        bits[cell >>> 6] &= ~(1L << cell);
+
+        // The cell sits just past the free cells, or is swapped there first
+        int position = freePositions[cell];
+        int firstOccupied = freeCells[freeCount];
+        freeCells[position] = firstOccupied;
+        freePositions[firstOccupied] = position;
+        freeCells[freeCount] = cell;
+        freePositions[cell] = freeCount;
+        freeCount++;
+    }
+
+    /**
+     * Checks whether a cell is occupied.
+     *
+     * @param cell The packed cell index.
+     * @return {@code true} if the cell is occupied, {@code false} otherwise.
+     */
+    public boolean isOccupied(int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Gets a free cell by its position among the free cells, which changes as cells are occupied and released.
+     *
+     * @param position The position, from 0 to {@link #getFreeCount()} less one.
+     * @return The packed index of the free cell.
+     */
+    public int getFreeCell(int position) {
+        return freeCells[position];
+    }
+
+    /**
+     * Picks a uniformly random free cell.
+     *
+     * @param rand The random number generator to draw from.
+     * @return The packed index of a free cell, or -1 if the board is full.
+     */
+    public int randomFreeCell(Random rand) {
+        if (freeCount == 0) {
+            return -1;
+        }
+        return freeCells[rand.nextInt(freeCount)];
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * The PredictedGame class runs a client's copy of a networked game ahead of the server, so the player's
+ * turns show on the next tick instead of a round trip later. It steps a local {@link SnakeModel}, whose
+ * step is a deterministic function of the state and the direction, with the player's turns applied on the
+ * ticks they were made for. The server plays the same turns on the same ticks, as long as they reach it
+ * in time; see {@link GameProtocol}.
+ * <p>
+ * Whenever messages arrive from the server, the prediction is reconciled: the turns the server has
+ * taken are forgotten, the model is reset to the server's state in the {@link RemoteGame}, and the turns
+ * still unconfirmed are replayed on top of it up to the local tick. If the server played a turn on
+ * another tick, or the snake reached an apple the client could not know about, the replay differs from
+ * what was shown before, which is counted as a correction.
+ * </p>
+ * <p>
+ * The local tick runs ahead of the latest server tick by a lead of a few ticks, which covers the time a
+ * turn takes to reach the server. The server reports how early each turn arrived, and the lead grows as
+ * soon as a turn arrives late, and shrinks by one tick at a time while turns arrive with time to spare.
+ * The server's clock is estimated from the arrival of its ticks, trusting the earliest arrivals, since
+ * a message can be delayed by the network but never sped up.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class PredictedGame {
+    private static final int INITIAL_LEAD = 2;
+    private static final int MAX_LEAD = 30;
+    private static final int TURN_CAPACITY = 64;
+    private static final int TURN_MASK = TURN_CAPACITY - 1;
+    // How far a late tick pulls the clock back; early ticks move it forward at once
+    private static final double CLOCK_DRIFT = 0.05;
+    // Turns arriving more ticks early than this let the lead shrink
+    private static final int SPARE_TICKS = 2;
+
+    private final RemoteGame remoteGame;
+    private final SnakeModel snakeModel;
+
+    // The unconfirmed turns, numbered from 1 in the order they were made
+    private final char[] turnDirections = new char[TURN_CAPACITY];
+    private final long[] turnTicks = new long[TURN_CAPACITY];
+    private long firstTurn = 1;
+    private long nextTurn = 1;
+    // The next unconfirmed turn the model has not been through yet
+    private long turnCursor = 1;
+
+    private long localTick;
+    private int lead = INITIAL_LEAD;
+    private int fullStateCount;
+    private long ackedTurns;
+    private double clockTick;
+    private long clockTime;
+    private long corrections;
+
+    /**
+     * Constructor to initialize the prediction of a game whose first full state has arrived.
+     *
+     * @param remoteGame The server's state of the game, which the prediction is reconciled with.
+     * @param now        The {@link System#nanoTime()} the state arrived at.
+     */
+    public PredictedGame(RemoteGame remoteGame, long now) {
+        this.remoteGame = remoteGame;
+        this.snakeModel = new SnakeModel(remoteGame.getGeometry(), 0L);
+        reconcile(now);
+    }
+
+    /**
+     * Makes a turn, to be played on the next local tick.
+     *
+     * @param direction The direction to turn to ('U', 'D', 'L', 'R').
+     * @return The tick the turn is meant for, to send to the server with it,
+     * or -1 if too many turns are unconfirmed and it was dropped.
+     */
+    public long turn(char direction) {
+        if (nextTurn - firstTurn == TURN_CAPACITY) {
+            return -1;
+        }
+        int slot = (int) (nextTurn & TURN_MASK);
+        turnDirections[slot] = direction;
+        turnTicks[slot] = localTick + 1;
+        nextTurn++;
+        return localTick + 1;
+    }
+
+    /**
+     * Advances the local ticks that are due by now, keeping them the lead ahead of the server's estimated tick.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return The number of ticks stepped.
+     */
+    public int advance(long now) {
+        long target = (long) serverTick(now) + lead;
+        int steps = 0;
+        while (localTick < target && remoteGame.getIsRunning()) {
+            step();
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Reconciles the prediction with the server's state, after messages have been applied to it.
+     *
+     * @param now The {@link System#nanoTime()} the messages arrived at.
+     */
+    public void reconcile(long now) {
+        long serverTick = remoteGame.getTick();
+        boolean isNewGame = remoteGame.getFullStateCount() != fullStateCount;
+        if (isNewGame) {
+            // A new game: nothing made for the old one applies
+            fullStateCount = remoteGame.getFullStateCount();
+            firstTurn = nextTurn;
+            clockTick = serverTick;
+            clockTime = now;
+            localTick = serverTick;
+        } else {
+            updateClock(serverTick, now);
+        }
+        if (remoteGame.getTakenTurns() != ackedTurns) {
+            ackedTurns = remoteGame.getTakenTurns();
+            updateLead(remoteGame.getTurnEarliness());
+        }
+        // Turn numbers go back to the start of the connection, as do the server's counts
+        firstTurn = Math.max(firstTurn, Math.min(ackedTurns + 1, nextTurn));
+
+        int headSerial = snakeModel.getHeadSerial();
+        int length = snakeModel.getSnakeBody().getLength();
+        int head = headCell();
+        long predictedTick = localTick;
+
+        snakeModel.restore(remoteGame, remoteGame.getHeadSerial(), remoteGame.getDirection(), remoteGame.getAppleCell(),
+                remoteGame.getScore(), remoteGame.getDelay(), remoteGame.getDelayStep(), remoteGame.getIsRunning());
+        turnCursor = firstTurn;
+        localTick = serverTick;
+        while (localTick < predictedTick && snakeModel.getIsRunning()) {
+            step();
+        }
+        if (!isNewGame && localTick == predictedTick && (snakeModel.getHeadSerial() != headSerial
+                || snakeModel.getSnakeBody().getLength() != length || headCell() != head)) {
+            corrections++;
+        }
+    }
+
+    /**
+     * Steps the model one tick, taking the direction from the turns made for it the way the server does.
+     */
+    private void step() {
+        localTick++;
+        char direction = snakeModel.getDirection();
+        while (turnCursor < nextTurn && turnTicks[(int) (turnCursor & TURN_MASK)] <= localTick) {
+            char turn = turnDirections[(int) (turnCursor & TURN_MASK)];
+            turnCursor++;
+            if (DirectionQueue.isTurn(direction, turn)) {
+                direction = turn;
+                break;
+            }
+        }
+        snakeModel.step(direction);
+    }
+
+    /**
+     * Moves the estimate of the server's clock towards a tick that has just arrived.
+     */
+    private void updateClock(long serverTick, long now) {
+        double estimate = serverTick(now);
+        if (serverTick >= estimate) {
+            clockTick = serverTick;
+        } else {
+            clockTick = estimate + (serverTick - estimate) * CLOCK_DRIFT;
+        }
+        clockTime = now;
+    }
+
+    /**
+     * Estimates the tick the server is on.
+     */
+    private double serverTick(long now) {
+        return clockTick + (double) (now - clockTime) / remoteGame.getTickPeriodNanos();
+    }
+
+    /**
+     * Grows the lead when a turn arrived late, or shrinks it when turns arrive with time to spare.
+     */
+    private void updateLead(long earliness) {
+        if (earliness < 0) {
+            lead = (int) Math.min(MAX_LEAD, lead - earliness);
+        } else if (earliness > SPARE_TICKS && lead > 1) {
+            lead--;
+        }
+    }
+
+    private int headCell() {
+        SnakeBody body = snakeModel.getSnakeBody();
+        return body.getLength() == 0 ? -1 : body.getY(0) * snakeModel.getGeometry().getColumns() + body.getX(0);
+    }
+
+    /**
+     * Gets the predicted game, for showing the snake. Its apple is a guess once the predicted snake has
+     * eaten the one the server placed, so the apple shown should be the server's.
+     *
+     * @return The model, which changes with every call to {@link #advance(long)} and {@link #reconcile(long)}.
+     */
+    public SnakeModel getModel() {
+        return snakeModel;
+    }
+
+    /**
+     * Gets the tick the prediction has reached.
+     *
+     * @return The local tick number.
+     */
+    public long getLocalTick() {
+        return localTick;
+    }
+
+    /**
+     * Gets how many ticks the prediction aims to run ahead of the server.
+     *
+     * @return The lead in ticks.
+     */
+    public int getLead() {
+        return lead;
+    }
+
+    /**
+     * Gets the number of reconciliations that changed what had been predicted for the local tick, not counting
+     * the start of a new game.
+     *
+     * @return The correction count.
+     */
+    public long getCorrections() {
+        return corrections;
+    }
+
+    /**
+     * Gets the number of turns made that the server has not taken yet.
+     *
+     * @return The unconfirmed turn count.
+     */
+    public int getUnconfirmedTurns() {
+        return (int) (nextTurn - firstTurn);
+    }
+}
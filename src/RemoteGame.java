@@ -0,0 +1,396 @@
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The RemoteGame class is a client's copy of a game played on a {@link GameServer}, kept up to date from
+ * the messages described in {@link GameProtocol}. It holds the body in a circular buffer the way
+ * {@link SnakeModel} does, so each tick is applied by writing the new head and letting the tail fall out,
+ * and it serves as the body a {@link SnakeView} draws. An ack of the client's turns is held back until the
+ * tick it was sent with has been applied, so the turns it counts are always part of the state.
+ * <p>
+ * Each tick is checked to be the one after the current state. If it is not, the state can no longer be
+ * trusted: the game is out of sync, and ticks are ignored until the next full state, which the client should
+ * ask the server for.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RemoteGame implements SnakeBody {
+    private BoardGeometry geometry;
+    private int columns;
+    private int rows;
+    private int[] body;
+    private int bodyHead;
+    private int length;
+    private int headSerial;
+    private long tick;
+    private int score;
+    private int appleCell = -1;
+    private boolean isRunning;
+    private char direction;
+    private int delay;
+    private int delayStep;
+    private long tickPeriodNanos;
+    private int fullStateCount;
+    private boolean isOutOfSync;
+    private long takenTurns;
+    private long turnEarliness;
+    private long pendingAckTick = -1;
+    private long pendingTakenTurns;
+    private long pendingTurnEarliness;
+
+    /**
+     * Applies every complete message in a buffer, leaving a message that has only partly arrived
+     * in the buffer for the next call.
+     *
+     * @param in The buffer of received bytes, ready for reading.
+     * @return The number of messages applied.
+     * @throws IllegalArgumentException If a message is malformed, or a tick arrives before the first full state.
+     */
+    public int read(ByteBuffer in) {
+        int count = 0;
+        while (in.hasRemaining()) {
+            int start = in.position();
+            int frameLength;
+            try {
+                frameLength = (int) VarInt.getUnsigned(in);
+            } catch (BufferUnderflowException e) {
+                in.position(start);
+                break;
+            }
+            if (in.remaining() < frameLength) {
+                in.position(start);
+                break;
+            }
+            int end = in.position() + frameLength;
+            readMessage(in);
+            if (in.position() != end) {
+                throw new IllegalArgumentException("Malformed message: " + (in.position() - start) + " bytes read of "
+                        + (end - start));
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void readMessage(ByteBuffer in) {
+        byte type = in.get();
+        if (type == GameProtocol.FULL_STATE) {
+            readFullState(in);
+        } else if (type == GameProtocol.TICK) {
+            if (body == null) {
+                throw new IllegalArgumentException("A tick arrived before the full state");
+            }
+            readTick(in);
+        } else if (type == GameProtocol.ACK) {
+            pendingAckTick = VarInt.getUnsigned(in);
+            pendingTakenTurns = VarInt.getUnsigned(in);
+            pendingTurnEarliness = VarInt.getSigned(in);
+            applyAck();
+        } else {
+            throw new IllegalArgumentException("Unknown message type: " + type);
+        }
+    }
+
+    private void readFullState(ByteBuffer in) {
+        int base = in.position();
+        int size = in.remaining() < SnapshotCodec.HEADER_SIZE ? SnapshotCodec.HEADER_SIZE : SnapshotCodec.getSize(in, base);
+        if (in.remaining() < size) {
+            throw new IllegalArgumentException("Malformed full state: " + size + " bytes in a message of "
+                    + in.remaining());
+        }
+        tick = SnapshotCodec.getTick(in, base);
+        int columns = SnapshotCodec.getColumns(in, base);
+        int rows = SnapshotCodec.getRows(in, base);
+        int unitSize = SnapshotCodec.getUnitSize(in, base);
+        if (geometry == null || columns != this.columns || rows != this.rows || unitSize != geometry.getUnitSize()) {
+            geometry = new BoardGeometry(columns, rows, unitSize);
+            this.columns = columns;
+            this.rows = rows;
+            body = null;
+        }
+        score = SnapshotCodec.getScore(in, base);
+        headSerial = SnapshotCodec.getHeadSerial(in, base);
+        appleCell = SnapshotCodec.getAppleCell(in, base);
+        isRunning = SnapshotCodec.getIsRunning(in, base);
+        direction = SnapshotCodec.getDirection(in, base);
+        delay = SnapshotCodec.getDelay(in, base);
+        delayStep = SnapshotCodec.getDelayStep(in, base);
+        tickPeriodNanos = SnapshotCodec.getTickPeriodNanos(in, base);
+        length = SnapshotCodec.getLength(in, base);
+        if (body == null) {
+            // Room for a body covering the board, and a stacked tail on top; a longer body is malformed
+            body = new int[2 * geometry.getCellCount() + 1];
+        }
+        bodyHead = 0;
+        SnapshotCodec.readBody(in, base, body);
+        in.position(base + size);
+        fullStateCount++;
+        isOutOfSync = false;
+        applyAck();
+    }
+
+    private void readTick(ByteBuffer in) {
+        long serverTick = VarInt.getUnsigned(in);
+        int flags = in.get();
+        int movedAppleCell = (flags & GameProtocol.APPLE_MOVED) != 0 ? (int) VarInt.getUnsigned(in) : -1;
+        if (isOutOfSync || serverTick != tick + 1) {
+            isOutOfSync = true;
+            return;
+        }
+        tick = serverTick;
+        direction = GameProtocol.DIRECTIONS.charAt(flags & 3);
+        if ((flags & GameProtocol.MOVED) != 0) {
+            int head = body[bodyHead];
+            int column = head % columns;
+            int row = head / columns;
+            switch (direction) {
+                case 'U':
+                    row--;
+                    break;
+                case 'D':
+                    row++;
+                    break;
+                case 'L':
+                    column--;
+                    break;
+                case 'R':
+                    column++;
+                    break;
+            }
+            bodyHead = bodyHead == 0 ? body.length - 1 : bodyHead - 1;
+            body[bodyHead] = row * columns + column;
+            headSerial++;
+        }
+        if ((flags & GameProtocol.GREW) != 0) {
+            // As in the model, the new tail starts on the same cell as the current one
+            if (length + 1 > body.length) {
+                throw new IllegalArgumentException("The snake outgrew the board");
+            }
+            body[bodySlot(length)] = body[bodySlot(length - 1)];
+            length++;
+            score++;
+            delay -= delayStep;
+        }
+        if (movedAppleCell >= 0) {
+            appleCell = movedAppleCell;
+        }
+        if ((flags & GameProtocol.GAME_OVER) != 0) {
+            isRunning = false;
+        }
+        applyAck();
+    }
+
+    /**
+     * Takes on the latest ack once the state has reached the tick it was sent with.
+     */
+    private void applyAck() {
+        if (pendingAckTick >= 0 && tick >= pendingAckTick) {
+            takenTurns = pendingTakenTurns;
+            turnEarliness = pendingTurnEarliness;
+            pendingAckTick = -1;
+        }
+    }
+
+    private int bodySlot(int index) {
+        int slot = bodyHead + index;
+        return slot < body.length ? slot : slot - body.length;
+    }
+
+    /**
+     * Checks if a cell is off the board or covered by the snake, for clients that steer by themselves.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return {@code true} if the snake cannot move into the cell, {@code false} otherwise.
+     */
+    public boolean isBlocked(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return true;
+        }
+        int cell = row * columns + column;
+        // The tail moves away on the next tick, so it does not block
+        for (int i = 0; i < length - 1; i++) {
+            if (body[bodySlot(i)] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the first full state has arrived, before which there is nothing to show.
+     *
+     * @return {@code true} if the game's state is known, {@code false} otherwise.
+     */
+    public boolean hasState() {
+        return body != null;
+    }
+
+    /**
+     * Checks if a tick arrived that does not follow the current state, so the state is behind the server's
+     * and ticks are ignored until the next full state arrives.
+     *
+     * @return {@code true} if the client should ask for the full state again, {@code false} otherwise.
+     */
+    public boolean isOutOfSync() {
+        return isOutOfSync;
+    }
+
+    /**
+     * Gets the size of the game's board, once the first full state has arrived.
+     *
+     * @return The board geometry, or {@code null} if no full state has arrived yet.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of ticks the server had played when the latest message was sent.
+     *
+     * @return The tick number.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the score, which is the number of apples the snake has eaten.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets whether the game is running.
+     *
+     * @return {@code true} if the game is running, {@code false} once it has ended.
+     */
+    public boolean getIsRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Gets the direction the snake moved in on the latest tick.
+     *
+     * @return The direction ('U', 'D', 'L', 'R').
+     */
+    public char getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets the packed index of the apple's cell.
+     *
+     * @return The cell, or -1 if no full state has arrived yet.
+     */
+    public int getAppleCell() {
+        return appleCell;
+    }
+
+    /**
+     * Gets the model's delay between ticks, which shrinks as the snake grows.
+     *
+     * @return The delay in milliseconds.
+     */
+    public int getDelay() {
+        return delay;
+    }
+
+    /**
+     * Gets how much the delay shrinks each time the snake grows, which depends on the difficulty.
+     *
+     * @return The delay step in milliseconds.
+     */
+    public int getDelayStep() {
+        return delayStep;
+    }
+
+    /**
+     * Gets the time between the server's ticks, which follows the delay unless the server is set to a fixed rate.
+     *
+     * @return The tick period in nanoseconds.
+     */
+    public long getTickPeriodNanos() {
+        return tickPeriodNanos > 0 ? tickPeriodNanos : Math.max(1, delay) * 1_000_000L;
+    }
+
+    /**
+     * Gets the number of this client's turns the server had taken, played or discarded, by the current tick.
+     *
+     * @return The number of turns taken since connecting.
+     */
+    public long getTakenTurns() {
+        return takenTurns;
+    }
+
+    /**
+     * Gets how many ticks ahead of the tick it was meant for the latest turn taken arrived at the server.
+     *
+     * @return The ticks to spare, or a negative number if the turn arrived too late and was played after its tick.
+     */
+    public long getTurnEarliness() {
+        return turnEarliness;
+    }
+
+    /**
+     * Gets the column of the apple.
+     *
+     * @return The apple's column.
+     */
+    public int getAppleX() {
+        return appleCell % columns;
+    }
+
+    /**
+     * Gets the row of the apple.
+     *
+     * @return The apple's row.
+     */
+    public int getAppleY() {
+        return appleCell / columns;
+    }
+
+    /**
+     * Gets the number of full states received, one on joining, one for every new game and one for every resync.
+     *
+     * @return The full state count.
+     */
+    public int getFullStateCount() {
+        return fullStateCount;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public int getX(int index) {
+        return body[bodySlot(index)] % columns;
+    }
+
+    @Override
+    public int getY(int index) {
+        return body[bodySlot(index)] / columns;
+    }
+
+    @Override
+    public int getSegmentId(int index) {
+        return headSerial - index;
+    }
+
+    /**
+     * Gets the segment id of the head.
+     *
+     * @return The number of heads written since the game started.
+     */
+    public int getHeadSerial() {
+        return headSerial;
+    }
+}
@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The ReplayPlayer class plays back a game recorded by {@link ReplayRecorder}, driving a fresh
+ * {@link SnakeModel} with the recorded seed and directions, so the game is reconstructed exactly as it was
+ * played. Nothing is timed: a replay runs as fast as the model can be stepped, which makes it cheap to
+ * re-simulate archived sessions offline.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ReplayPlayer {
+    private final ByteBuffer replay;
+    private final BoardGeometry geometry;
+    private final long seed;
+    private final String difficulty;
+    private final int firstChange;
+    private SnakeModel snakeModel;
+    private long tick;
+    private long nextChangeTick;
+    private char nextDirection;
+    private char direction;
+    private long tickCount;
+
+    /**
+     * Constructor to initialize the player, reading the recording's header.
+     *
+     * @param replay The encoded replay.
+     * @throws IllegalArgumentException If the data is not a replay of a known version, or is cut short
+     *                                  or malformed.
+     */
+    public ReplayPlayer(byte[] replay) {
+        this.replay = ByteBuffer.wrap(replay);
+        if (replay.length < 5 || this.replay.getInt() != ReplayRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not a snake replay");
+        }
+        byte version = this.replay.get();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version: " + version);
+        }
+        try {
+            int columns = (int) VarInt.getUnsigned(this.replay);
+            int rows = (int) VarInt.getUnsigned(this.replay);
+            int unitSize = (int) VarInt.getUnsigned(this.replay);
+            this.geometry = new BoardGeometry(columns, rows, unitSize);
+            this.seed = this.replay.getLong();
+            long difficultyLength = VarInt.getUnsigned(this.replay);
+            if (difficultyLength > this.replay.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] difficultyBytes = new byte[(int) difficultyLength];
+            this.replay.get(difficultyBytes);
+            this.difficulty = new String(difficultyBytes, StandardCharsets.UTF_8);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The replay ends in its header");
+        }
+        this.firstChange = this.replay.position();
+        start();
+    }
+
+    /**
+     * Starts the replay afresh on a new model.
+     *
+     * @return The model the replay drives.
+     */
+    public SnakeModel start() {
+        snakeModel = new SnakeModel(geometry, seed);
+        snakeModel.startGame(difficulty, seed);
+        replay.position(firstChange);
+        tick = 0;
+        direction = snakeModel.getDirection();
+        readNextChange();
+        return snakeModel;
+    }
+
+    /**
+     * Advances the replay by one tick.
+     *
+     * @return {@code true} if the tick was played, {@code false} if the replay or the game has already ended.
+     * @throws IllegalArgumentException If the recording is cut short or malformed.
+     */
+    public boolean step() {
+        if (tick >= tickCount || !snakeModel.getIsRunning()) {
+            return false;
+        }
+        tick++;
+        if (tick == nextChangeTick) {
+            direction = nextDirection;
+            readNextChange();
+        }
+        snakeModel.step(direction);
+        return true;
+    }
+
+    /**
+     * Plays the rest of the replay.
+     *
+     * @return The model at the end of the replay.
+     */
+    public SnakeModel playToEnd() {
+        while (step()) {
+            // Keep stepping until the recording runs out
+        }
+        return snakeModel;
+    }
+
+    /**
+     * Reads the next direction change, or the end of the recording, which fixes the tick count.
+     */
+    private void readNextChange() {
+        long change;
+        try {
+            change = VarInt.getUnsigned(replay);
+            if (change == 0) {
+                tickCount = tick + VarInt.getUnsigned(replay);
+                nextChangeTick = -1;
+                return;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The replay ends before tick " + (tick + 1) + " was recorded");
+        }
+        nextChangeTick = tick + (change >>> 2);
+        nextDirection = ReplayRecorder.DIRECTIONS.charAt((int) (change & 3));
+        tickCount = Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the model the replay drives.
+     *
+     * @return The model, as of the last tick played back.
+     */
+    public SnakeModel getModel() {
+        return snakeModel;
+    }
+
+    /**
+     * Gets the size of the recorded game's board.
+     *
+     * @return The board geometry.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the difficulty the recorded game was started with.
+     *
+     * @return The difficulty.
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the seed the recorded game was started with.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of ticks played back so far.
+     *
+     * @return The tick number.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Plays back replay files at full speed and prints how each game ended.
+     *
+     * @param args The replay files.
+     * @throws IOException If a file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String file : args) {
+            long start = System.nanoTime();
+            ReplayPlayer player = new ReplayPlayer(Files.readAllBytes(Path.of(file)));
+            SnakeModel snakeModel = player.playToEnd();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%s: %d ticks, score %d, length %d, %s, %.2f ms%n", file, player.getTick(),
+                    snakeModel.getScore(), snakeModel.getSnakeBody().getLength(),
+                    snakeModel.getIsRunning() ? "still running" : "game over (" + snakeModel.getGameOverCause() + ")",
+                    elapsed / 1e6);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The ReplayRecorder class records a game compactly enough to archive every session. A game is fully
+ * determined by the board size, the difficulty, the seed of its apple placement and the directions it was
+ * given, and the direction only matters on the ticks where it changed, so only those are recorded.
+ * <p>
+ * The format is a fixed header followed by one varint per direction change, holding the number of ticks
+ * since the previous change shifted left by two bits, with the direction in the low two bits. A zero ends
+ * the changes and is followed by the number of ticks played after the last one, so a typical turn takes one
+ * or two bytes. See {@link ReplayPlayer} for playing a recording back.
+ * </p>
+ * <pre>
+ * int    magic "SNKR"
+ * byte   version
+ * varint columns, rows, unit size
+ * long   seed
+ * varint difficulty length, then the difficulty in UTF-8
+ * varint (ticks since previous change &lt;&lt; 2 | direction), ... 0
+ * varint ticks after the last change
+ * </pre>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ReplayRecorder {
+    static final int MAGIC = 0x534E4B52;
+    static final byte VERSION = 1;
+    static final String DIRECTIONS = "UDLR";
+
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+    private char lastDirection = 'R';
+    private long lastChangeTick;
+    private long lastTick;
+
+    /**
+     * Constructor to initialize a recording of a game that is about to be started with
+     * {@link SnakeModel#startGame(String, long)}.
+     *
+     * @param geometry   The size of the game board.
+     * @param difficulty The difficulty the game is started with.
+     * @param seed       The seed the game is started with.
+     */
+    public ReplayRecorder(BoardGeometry geometry, String difficulty, long seed) {
+        byte[] difficultyBytes = difficulty.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(4 + 1 + 3 * VarInt.MAX_BYTES + 8 + VarInt.MAX_BYTES + difficultyBytes.length);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        VarInt.putUnsigned(buffer, geometry.getColumns());
+        VarInt.putUnsigned(buffer, geometry.getRows());
+        VarInt.putUnsigned(buffer, geometry.getUnitSize());
+        buffer.putLong(seed);
+        VarInt.putUnsigned(buffer, difficultyBytes.length);
+        buffer.put(difficultyBytes);
+    }
+
+    /**
+     * Records a tick, after the model has been stepped.
+     *
+     * @param tick      The number of ticks played, which must grow by one with every call.
+     * @param direction The direction the snake moved in on this tick, from {@link SnakeModel#getDirection()}.
+     */
+    public void recordTick(long tick, char direction) {
+        if (direction != lastDirection) {
+            ensureCapacity(VarInt.MAX_BYTES);
+            VarInt.putUnsigned(buffer, (tick - lastChangeTick) << 2 | DIRECTIONS.indexOf(direction));
+            lastDirection = direction;
+            lastChangeTick = tick;
+        }
+        lastTick = tick;
+    }
+
+    /**
+     * Gets the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return lastTick;
+    }
+
+    /**
+     * Ends the recording at the last recorded tick. Recording may carry on afterwards.
+     *
+     * @return The encoded replay.
+     */
+    public byte[] toByteArray() {
+        ensureCapacity(1 + VarInt.MAX_BYTES);
+        int position = buffer.position();
+        VarInt.putUnsigned(buffer, 0);
+        VarInt.putUnsigned(buffer, lastTick - lastChangeTick);
+        byte[] replay = Arrays.copyOf(buffer.array(), buffer.position());
+        buffer.position(position);
+        return replay;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The ShardedArena class steps an {@link ArenaEngine} on several threads at once. The board is cut into
+ * horizontal stripes of rows, one per shard, and every snake belongs to the shard whose stripe holds its
+ * head. Each shard works through its own snakes on a worker thread of its own, with the thread calling
+ * {@link #step()} acting as the first shard.
+ * <p>
+ * A tick runs the engine's phases, with a barrier between each:
+ * </p>
+ * <ol>
+ *     <li>Intent: each shard turns its snakes and claims the cells their heads move into. A claim inside
+ *     the shard's own stripe is made at once, since no other shard touches those cells; a claim across a
+ *     stripe boundary is put in an outbox for the neighbouring shard.</li>
+ *     <li>Handoff: each shard makes the claims its neighbours left for it, those from the shard above
+ *     before those from the shard below.</li>
+ *     <li>Resolve: each shard checks its snakes' moves against the bodies on the board, which nothing
+ *     changes during this phase.</li>
+ *     <li>Apply: the first shard moves every snake and replaces the eaten apples alone, in snake order, so
+ *     the random placement is the same as in a single-threaded run.</li>
+ *     <li>Migrate: each shard drops its dead snakes and hands snakes whose heads left its stripe to the
+ *     neighbouring shard, which takes them on after a further barrier.</li>
+ * </ol>
+ * <p>
+ * Every snake that claims a cell another snake claims dies, whichever claim is made first, so the order
+ * in which the handoffs arrive cannot change the outcome. Stepping a sharded arena therefore plays out
+ * exactly as {@link ArenaEngine#step()} would, given the same seed, spawns and directions.
+ * </p>
+ * <p>
+ * If any shard throws, it breaks the barrier for good, so every thread leaves the tick and the workers
+ * stop. The step rethrows the first shard's exception, and the arena can then only be closed and read.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ShardedArena implements AutoCloseable {
+    private final ArenaEngine arena;
+    private final int columns;
+    private final int shardCount;
+    // The first row of each shard's stripe, plus the row past the end of the last
+    private final int[] stripeStarts;
+    // The shard whose stripe holds each row
+    private final int[] rowShards;
+
+    // The snakes in each shard, and the snakes each shard hands to the shard above and below it
+    private final int[][] members;
+    private final int[] memberCounts;
+    private final int[][] outboxesUp;
+    private final int[] outboxUpCounts;
+    private final int[][] outboxesDown;
+    private final int[] outboxDownCounts;
+
+    private final CyclicBarrier barrier;
+    private final Thread[] workers;
+    private volatile boolean isClosed;
+    // The first exception thrown by any shard
+    private volatile RuntimeException failure;
+
+    /**
+     * Constructor to initialize an arena with no snakes, and start its worker threads.
+     *
+     * @param geometry   The size of the shared board.
+     * @param maxSnakes  The largest number of snakes alive at once.
+     * @param appleCount The number of apples kept on the board.
+     * @param seed       The seed for spawning snakes and placing apples.
+     * @param shardCount The number of stripes, and of threads stepping them. Every stripe holds at least one
+     *                   row, so a count above the number of rows is lowered to it.
+     * @throws IllegalArgumentException If the shard count is below 1.
+     */
+    public ShardedArena(BoardGeometry geometry, int maxSnakes, int appleCount, long seed, int shardCount) {
+        int rows = geometry.getRows();
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("The shard count must be at least 1: " + shardCount);
+        }
+        shardCount = Math.min(shardCount, rows);
+        this.arena = new ArenaEngine(geometry, maxSnakes, appleCount, seed);
+        this.columns = geometry.getColumns();
+        this.shardCount = shardCount;
+
+        stripeStarts = new int[shardCount + 1];
+        rowShards = new int[rows];
+        for (int shard = 0; shard <= shardCount; shard++) {
+            stripeStarts[shard] = (int) ((long) rows * shard / shardCount);
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int row = stripeStarts[shard]; row < stripeStarts[shard + 1]; row++) {
+                rowShards[row] = shard;
+            }
+        }
+
+        members = new int[shardCount][maxSnakes];
+        memberCounts = new int[shardCount];
+        outboxesUp = new int[shardCount][maxSnakes];
+        outboxUpCounts = new int[shardCount];
+        outboxesDown = new int[shardCount][maxSnakes];
+        outboxDownCounts = new int[shardCount];
+
+        barrier = new CyclicBarrier(shardCount);
+        workers = new Thread[shardCount - 1];
+        for (int i = 0; i < workers.length; i++) {
+            int shard = i + 1;
+            workers[i] = new Thread(() -> work(shard), "snake-arena-shard-" + shard);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Spawns a snake of the starting length on a random free cell. See {@link ArenaEngine#spawnSnake()}.
+     * Snakes must be spawned through the sharded arena rather than the engine, so they join a shard.
+     *
+     * @return The id of the new snake, or -1 if the arena is full.
+     */
+    public int spawnSnake() {
+        return join(arena.spawnSnake());
+    }
+
+    /**
+     * Spawns a snake of the starting length on a free cell. See {@link ArenaEngine#spawnSnake(int, char)}.
+     *
+     * @param cell      The packed index of the cell, which must be free and hold no apple.
+     * @param direction The direction the snake starts moving in ('U', 'D', 'L', 'R').
+     * @return The id of the new snake, or -1 if the arena is full.
+     */
+    public int spawnSnake(int cell, char direction) {
+        return join(arena.spawnSnake(cell, direction));
+    }
+
+    private int join(int snake) {
+        if (snake >= 0) {
+            int shard = rowShards[arena.getHeadCell(snake) / columns];
+            members[shard][memberCounts[shard]++] = snake;
+        }
+        return snake;
+    }
+
+    /**
+     * Sets the direction a snake turns to on the next tick. See {@link ArenaEngine#setDirection(int, char)}.
+     *
+     * @param snake     The id of the snake.
+     * @param direction The direction ('U', 'D', 'L', 'R').
+     */
+    public void setDirection(int snake, char direction) {
+        arena.setDirection(snake, direction);
+    }
+
+    /**
+     * Advances every snake by one tick, on all the shards' threads. An exception thrown by the calling
+     * thread's shard is rethrown as it is.
+     *
+     * @throws IllegalStateException If the arena has been closed, or a worker thread failed on this or an
+     *                               earlier tick, with the worker's exception as the cause.
+     */
+    public void step() {
+        if (isClosed) {
+            throw new IllegalStateException("The arena has been closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("A shard of the arena failed on an earlier tick", failure);
+        }
+        arena.beginTick();
+        try {
+            await();
+            stepShard(0);
+            await();
+        } catch (RuntimeException e) {
+            fail(e);
+            RuntimeException first = failure;
+            if (first == e) {
+                throw e;
+            }
+            throw new IllegalStateException("A shard of the arena failed", first);
+        }
+    }
+
+    /**
+     * The loop of a worker thread: waits for a tick to start, steps its shard, and waits for the tick to end.
+     */
+    private void work(int shard) {
+        try {
+            while (true) {
+                barrier.await();
+                if (isClosed) {
+                    return;
+                }
+                stepShard(shard);
+                barrier.await();
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            // Another shard failed and broke the barrier
+        } catch (RuntimeException e) {
+            if (!(e.getCause() instanceof BrokenBarrierException)) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Records the first exception of any shard, and breaks the barrier so that every other thread
+     * leaves the tick at its next barrier rather than waiting for the failed one.
+     */
+    private void fail(RuntimeException e) {
+        synchronized (barrier) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        // A wait that times out breaks the barrier until it is reset, which it never is
+        while (!barrier.isBroken()) {
+            try {
+                barrier.await(0, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | BrokenBarrierException ignored) {
+                return;
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs one shard's part of a tick. Every shard passes the same barriers in the same order.
+     */
+    private void stepShard(int shard) {
+        intend(shard);
+        await();
+        takeClaims(shard);
+        await();
+        int[] snakes = members[shard];
+        for (int i = 0; i < memberCounts[shard]; i++) {
+            arena.resolveMove(snakes[i]);
+        }
+        await();
+        if (shard == 0) {
+            arena.apply();
+        }
+        await();
+        migrateOut(shard);
+        await();
+        migrateIn(shard);
+    }
+
+    /**
+     * Turns a shard's snakes and claims their next cells, putting claims across the stripe's edges
+     * in the outboxes.
+     */
+    private void intend(int shard) {
+        int start = stripeStarts[shard];
+        int end = stripeStarts[shard + 1];
+        int up = 0;
+        int down = 0;
+        int[] snakes = members[shard];
+        for (int i = 0; i < memberCounts[shard]; i++) {
+            int snake = snakes[i];
+            int cell = arena.intendMove(snake);
+            if (cell < 0) {
+                continue;
+            }
+            int row = cell / columns;
+            if (row < start) {
+                outboxesUp[shard][up++] = snake;
+            } else if (row >= end) {
+                outboxesDown[shard][down++] = snake;
+            } else {
+                arena.claim(snake, cell);
+            }
+        }
+        outboxUpCounts[shard] = up;
+        outboxDownCounts[shard] = down;
+    }
+
+    /**
+     * Makes the claims the neighbouring shards left for this shard's stripe.
+     */
+    private void takeClaims(int shard) {
+        if (shard > 0) {
+            int[] snakes = outboxesDown[shard - 1];
+            for (int i = 0; i < outboxDownCounts[shard - 1]; i++) {
+                arena.claim(snakes[i], arena.getNextHead(snakes[i]));
+            }
+        }
+        if (shard < shardCount - 1) {
+            int[] snakes = outboxesUp[shard + 1];
+            for (int i = 0; i < outboxUpCounts[shard + 1]; i++) {
+                arena.claim(snakes[i], arena.getNextHead(snakes[i]));
+            }
+        }
+    }
+
+    /**
+     * Drops a shard's dead snakes and moves the snakes whose heads left its stripe to the outboxes.
+     */
+    private void migrateOut(int shard) {
+        int[] snakes = members[shard];
+        int kept = 0;
+        int up = 0;
+        int down = 0;
+        for (int i = 0; i < memberCounts[shard]; i++) {
+            int snake = snakes[i];
+            if (!arena.isAlive(snake)) {
+                continue;
+            }
+            int headShard = rowShards[arena.getHeadCell(snake) / columns];
+            if (headShard < shard) {
+                outboxesUp[shard][up++] = snake;
+            } else if (headShard > shard) {
+                outboxesDown[shard][down++] = snake;
+            } else {
+                snakes[kept++] = snake;
+            }
+        }
+        memberCounts[shard] = kept;
+        outboxUpCounts[shard] = up;
+        outboxDownCounts[shard] = down;
+    }
+
+    /**
+     * Takes on the snakes the neighbouring shards handed over.
+     */
+    private void migrateIn(int shard) {
+        int[] snakes = members[shard];
+        int count = memberCounts[shard];
+        if (shard > 0) {
+            int above = outboxDownCounts[shard - 1];
+            System.arraycopy(outboxesDown[shard - 1], 0, snakes, count, above);
+            count += above;
+        }
+        if (shard < shardCount - 1) {
+            int below = outboxUpCounts[shard + 1];
+            System.arraycopy(outboxesUp[shard + 1], 0, snakes, count, below);
+            count += below;
+        }
+        memberCounts[shard] = count;
+    }
+
+    private void await() {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stepping the arena", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("A shard of the arena failed", e);
+        }
+    }
+
+    /**
+     * Stops the worker threads. The arena can still be read, but no longer stepped.
+     * The workers of an arena that failed have already stopped.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        if (workers.length > 0 && failure == null && !barrier.isBroken()) {
+            await();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the engine the shards step, for reading the state of the arena.
+     *
+     * @return The engine.
+     */
+    public ArenaEngine getArena() {
+        return arena;
+    }
+
+    /**
+     * Gets the number of stripes the board is cut into.
+     *
+     * @return The shard count, which is no more than the number of rows.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Gets the number of snakes in a shard.
+     *
+     * @param shard The index of the shard, from the top stripe down.
+     * @return The number of snakes whose heads are in the shard's stripe.
+     */
+    public int getShardSize(int shard) {
+        return memberCounts[shard];
+    }
+}
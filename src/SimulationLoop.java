@@ -0,0 +1,169 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The SimulationLoop class steps a game on its own thread, at the rate set by the model's delay,
+ * independently of how often the screen is repainted. After every tick it publishes a snapshot of the
+ * model through a {@link SnapshotExchange}, which the renderer picks up whenever it draws a frame.
+ * <p>
+ * Ticks are scheduled against {@link System#nanoTime()} deadlines rather than a timer,
+ * so delays of a few milliseconds are kept accurately.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SimulationLoop implements Runnable {
+    // Ticks that may be owed at most before the schedule is reset, so a stall cannot snowball
+    private static final int MAX_TICKS_BEHIND = 8;
+    private static final long PAUSED_POLL_NANOS = 1_000_000L;
+
+    private final SnakeModel snakeModel;
+    private final DirectionQueue directionQueue;
+    private final SnapshotExchange snapshotExchange;
+    private Thread thread;
+    // Optional metrics; null unless enabled
+    private LatencyHistogram tickTime;
+    private LatencyHistogram tickLateness;
+    private Counter tickCount;
+    private Counter missedTicks;
+    private ReplayRecorder replayRecorder;
+    private long tick;
+    private volatile boolean isRunning;
+    private volatile boolean isPaused;
+
+    /**
+     * Constructor to initialize the loop for a game that has just been started.
+     *
+     * @param snakeModel     The game to step.
+     * @param directionQueue The key presses that supply the direction for each tick.
+     */
+    public SimulationLoop(SnakeModel snakeModel, DirectionQueue directionQueue) {
+        this.snakeModel = snakeModel;
+        this.directionQueue = directionQueue;
+        this.snapshotExchange = new SnapshotExchange(snakeModel);
+    }
+
+    /**
+     * Starts the loop on a new daemon thread.
+     */
+    public void start() {
+        isRunning = true;
+        thread = new Thread(this, "snake-simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop and waits for the loop thread to finish, so the model can safely be reused.
+     */
+    public void stop() {
+        isRunning = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Records the loop's metrics: the time each tick takes ({@code tick.time}), how late it started
+     * against its schedule ({@code tick.lateness}), and the number of ticks played ({@code tick.count})
+     * and dropped after falling too far behind ({@code tick.missed}). Must be called before {@link #start()}.
+     *
+     * @param metrics The registry to record to.
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.tickTime = metrics.histogram("tick.time");
+        this.tickLateness = metrics.histogram("tick.lateness");
+        this.tickCount = metrics.counter("tick.count");
+        this.missedTicks = metrics.counter("tick.missed");
+    }
+
+    /**
+     * Records every tick into a replay. Must be called before {@link #start()}.
+     *
+     * @param replayRecorder The recording of the game, which was started with its seed.
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Pauses or resumes the game.
+     *
+     * @param isPaused {@code true} to pause the game, {@code false} to resume it.
+     */
+    public void setPaused(boolean isPaused) {
+        this.isPaused = isPaused;
+    }
+
+    /**
+     * Checks if the game is paused.
+     *
+     * @return {@code true} if the game is paused, {@code false} otherwise.
+     */
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    /**
+     * Gets the snapshot published after the latest tick. The snapshot is pooled: it stays unchanged
+     * only until the next call, which must come from the same thread.
+     *
+     * @return The latest snapshot.
+     */
+    public GameSnapshot getLatestSnapshot() {
+        return snapshotExchange.getLatest();
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + tickNanos();
+        while (isRunning) {
+            long now = System.nanoTime();
+            if (isPaused) {
+                LockSupport.parkNanos(PAUSED_POLL_NANOS);
+                nextTick = System.nanoTime() + tickNanos();
+                continue;
+            }
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+
+            SnakeTickEvent tickEvent = GameEvents.beginTick();
+            boolean isGameRunning = snakeModel.step((char) directionQueue.getAsInt());
+            tick++;
+            GameEvents.commitTick(tickEvent, snakeModel, tick);
+            if (replayRecorder != null) {
+                replayRecorder.recordTick(tick, snakeModel.getDirection());
+            }
+            snapshotExchange.publish(snakeModel, tick, directionQueue.takeAppliedTimestamp());
+            if (tickTime != null) {
+                tickTime.record(System.nanoTime() - now);
+                tickLateness.record(now - nextTick);
+                tickCount.increment();
+            }
+            if (!isGameRunning) {
+                break;
+            }
+
+            long tickNanos = tickNanos();
+            nextTick += tickNanos;
+            if (now - nextTick > tickNanos * MAX_TICKS_BEHIND) {
+                if (missedTicks != null) {
+                    missedTicks.add((now - nextTick) / tickNanos);
+                }
+                nextTick = now + tickNanos;
+            }
+        }
+    }
+
+    private long tickNanos() {
+        return Math.max(1, snakeModel.getDelay()) * 1_000_000L;
+    }
+}
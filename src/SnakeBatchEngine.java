@@ -0,0 +1,351 @@
+/**
+ * The SnakeBatchEngine class steps many games in lockstep, storing every game in flat primitive arrays.
+ * Each game follows exactly the same rules as {@link SnakeModel}: the body is a circular buffer of packed
+ * cell indices, an occupancy bitmap detects self-collisions, and apples are drawn from an indexed set of
+ * free cells. The random number generator is the same linear congruential generator as {@link java.util.Random},
+ * kept as one {@code long} per game, so a game seeded with {@code s} plays out exactly like
+ * {@code new SnakeModel(geometry, s)} given the same directions.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SnakeBatchEngine {
+    private static final int START_LENGTH = 4;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private final int games;
+    private final int columns;
+    private final int rows;
+    private final int cellCount;
+    private final int capacity;
+    private final int words;
+
+    // One slot per game
+    private final long[] randomSeeds;
+    private final int[] bodyHeads;
+    private final int[] lengths;
+    private final int[] headColumns;
+    private final int[] headRows;
+    private final char[] directions;
+    private final int[] appleCells;
+    private final int[] scores;
+    private final int[] freeCounts;
+    private final boolean[] running;
+
+    // One block per game: capacity body slots, words occupancy words, cellCount free cells and positions
+    private final int[] bodies;
+    private final long[] occupancy;
+    private final int[] freeCells;
+    private final int[] freePositions;
+
+    /**
+     * Constructor to initialize the engine. Every game starts out stopped until it is reset.
+     *
+     * @param geometry The size of the game board shared by all games.
+     * @param games    The number of games.
+     * @throws IllegalArgumentException If the number of games is negative, or the games' blocks of the board
+     *                                  are too large to fit in an array together.
+     */
+    public SnakeBatchEngine(BoardGeometry geometry, int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("The number of games must not be negative: " + games);
+        }
+        this.games = games;
+        this.columns = geometry.getColumns();
+        this.rows = geometry.getRows();
+        this.cellCount = geometry.getCellCount();
+        this.capacity = cellCount + START_LENGTH + 1;
+        this.words = (cellCount + 63) >>> 6;
+
+        randomSeeds = new long[games];
+        bodyHeads = new int[games];
+        lengths = new int[games];
+        headColumns = new int[games];
+        headRows = new int[games];
+        directions = new char[games];
+        appleCells = new int[games];
+        scores = new int[games];
+        freeCounts = new int[games];
+        running = new boolean[games];
+
+        bodies = new int[blockArraySize(games, capacity)];
+        occupancy = new long[blockArraySize(games, words)];
+        freeCells = new int[blockArraySize(games, cellCount)];
+        freePositions = new int[blockArraySize(games, cellCount)];
+    }
+
+    /**
+     * Gets the size of an array holding one block per game, which must fit in an {@code int}.
+     */
+    private static int blockArraySize(int games, int blockSize) {
+        try {
+            return Math.multiplyExact(games, blockSize);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(games + " games of " + blockSize + " slots each do not fit in an array", e);
+        }
+    }
+
+    /**
+     * Gets the number of games in the engine.
+     *
+     * @return The game count.
+     */
+    public int getGameCount() {
+        return games;
+    }
+
+    /**
+     * Starts every game afresh, deriving each game's seed the same way as {@link BatchSimulator}.
+     *
+     * @param baseSeed The seed from which every game's seed is derived.
+     */
+    public void resetAll(long baseSeed) {
+        for (int game = 0; game < games; game++) {
+            reset(game, BatchSimulator.gameSeed(baseSeed, game));
+        }
+    }
+
+    /**
+     * Starts a game afresh, like {@link SnakeModel#startGame(String)} on a newly seeded model.
+     *
+     * @param game The index of the game.
+     * @param seed The seed for the game's apple placement.
+     */
+    public void reset(int game, long seed) {
+        randomSeeds[game] = (seed ^ MULTIPLIER) & MASK;
+
+        int occupancyBase = game * words;
+        for (int i = 0; i < words; i++) {
+            occupancy[occupancyBase + i] = 0L;
+        }
+        int freeBase = game * cellCount;
+        for (int cell = 0; cell < cellCount; cell++) {
+            freeCells[freeBase + cell] = cell;
+            freePositions[freeBase + cell] = cell;
+        }
+        freeCounts[game] = cellCount;
+
+        int bodyBase = game * capacity;
+        for (int i = 0; i < START_LENGTH; i++) {
+            bodies[bodyBase + i] = 0;
+        }
+        bodyHeads[game] = 0;
+        lengths[game] = START_LENGTH;
+        occupy(game, 0);
+        headColumns[game] = 0;
+        headRows[game] = 0;
+        directions[game] = 'R';
+        scores[game] = 0;
+        running[game] = true;
+        createApple(game);
+    }
+
+    /**
+     * Advances every running game by one tick.
+     *
+     * @param requestedDirections The direction for each game ('U', 'D', 'L', 'R'); reversals are ignored.
+     */
+    public void step(char[] requestedDirections) {
+        for (int game = 0; game < games; game++) {
+            if (running[game]) {
+                stepGame(game, requestedDirections[game]);
+            }
+        }
+    }
+
+    /**
+     * Advances a single game by one tick, mirroring {@link SnakeModel#step(char)}.
+     *
+     * @param game      The index of the game.
+     * @param direction The requested direction.
+     */
+    private void stepGame(int game, char direction) {
+        if (!isReverse(directions[game], direction)) {
+            directions[game] = direction;
+        }
+
+        // moveSnake
+        int column = headColumns[game];
+        int row = headRows[game];
+        switch (directions[game]) {
+            case 'R':
+                column++;
+                break;
+            case 'L':
+                column--;
+                break;
+            case 'U':
+                row--;
+                break;
+            case 'D':
+                row++;
+                break;
+        }
+        headColumns[game] = column;
+        headRows[game] = row;
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            running[game] = false;
+            return;
+        }
+        int bodyBase = game * capacity;
+        int length = lengths[game];
+        int tailCell = bodies[bodyBase + slot(game, length - 1)];
+        if (tailCell != bodies[bodyBase + slot(game, length - 2)]) {
+            release(game, tailCell);
+        }
+        int headCell = row * columns + column;
+        boolean isSelfCollision = isOccupied(game, headCell);
+        occupy(game, headCell);
+        int head = bodyHeads[game];
+        head = head == 0 ? capacity - 1 : head - 1;
+        bodyHeads[game] = head;
+        bodies[bodyBase + head] = headCell;
+
+        // checkApple
+        if (headCell == appleCells[game]) {
+            bodies[bodyBase + slot(game, length)] = bodies[bodyBase + slot(game, length - 1)];
+            lengths[game] = length + 1;
+            scores[game]++;
+            createApple(game);
+        }
+
+        // checkCollision
+        if (isSelfCollision) {
+            running[game] = false;
+        }
+    }
+
+    private static boolean isReverse(char current, char direction) {
+        switch (direction) {
+            case 'U':
+                return current == 'D';
+            case 'D':
+                return current == 'U';
+            case 'L':
+                return current == 'R';
+            case 'R':
+                return current == 'L';
+            default:
+                return true;
+        }
+    }
+
+    private int slot(int game, int index) {
+        int slot = bodyHeads[game] + index;
+        return slot < capacity ? slot : slot - capacity;
+    }
+
+    private void createApple(int game) {
+        int freeCount = freeCounts[game];
+        if (freeCount == 0) {
+            running[game] = false;
+            return;
+        }
+        appleCells[game] = freeCells[game * cellCount + nextInt(game, freeCount)];
+    }
+
+    private boolean isOccupied(int game, int cell) {
+        return (occupancy[game * words + (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    private void occupy(int game, int cell) {
+        if (isOccupied(game, cell)) {
+            return;
+        }
+        occupancy[game * words + (cell >>> 6)] |= 1L << cell;
+        int freeBase = game * cellCount;
+        int position = freePositions[freeBase + cell];
+        int freeCount = --freeCounts[game];
+        int lastCell = freeCells[freeBase + freeCount];
+        freeCells[freeBase + position] = lastCell;
+        freePositions[freeBase + lastCell] = position;
+        freeCells[freeBase + freeCount] = cell;
+        freePositions[freeBase + cell] = freeCount;
+    }
+
+    private void release(int game, int cell) {
+        if (!isOccupied(game, cell)) {
+            return;
+        }
+        occupancy[game * words + (cell >>> 6)] &= ~(1L << cell);
+        int freeBase = game * cellCount;
+        int position = freePositions[freeBase + cell];
+        int freeCount = freeCounts[game]++;
+        int firstOccupied = freeCells[freeBase + freeCount];
+        freeCells[freeBase + position] = firstOccupied;
+        freePositions[freeBase + firstOccupied] = position;
+        freeCells[freeBase + freeCount] = cell;
+        freePositions[freeBase + cell] = freeCount;
+    }
+
+    /**
+     * Draws a random number in {@code [0, bound)} from a game's generator,
+     * using the same algorithm as {@link java.util.Random#nextInt(int)}.
+     */
+    private int nextInt(int game, int bound) {
+        int r = next31(game);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = next31(game)) {
+            // Reject values from the incomplete last range
+        }
+        return r;
+    }
+
+    private int next31(int game) {
+        long seed = (randomSeeds[game] * MULTIPLIER + ADDEND) & MASK;
+        randomSeeds[game] = seed;
+        return (int) (seed >>> 17);
+    }
+
+    public boolean isRunning(int game) {
+        return running[game];
+    }
+
+    public int getScore(int game) {
+        return scores[game];
+    }
+
+    public int getLength(int game) {
+        return lengths[game];
+    }
+
+    public char getDirection(int game) {
+        return directions[game];
+    }
+
+    public int getAppleX(int game) {
+        return appleCells[game] % columns;
+    }
+
+    public int getAppleY(int game) {
+        return appleCells[game] / columns;
+    }
+
+    /**
+     * Gets the column of a body segment.
+     *
+     * @param game  The index of the game.
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's column on the board.
+     */
+    public int getX(int game, int index) {
+        return bodies[game * capacity + slot(game, index)] % columns;
+    }
+
+    /**
+     * Gets the row of a body segment.
+     *
+     * @param game  The index of the game.
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's row on the board.
+     */
+    public int getY(int game, int index) {
+        return bodies[game * capacity + slot(game, index)] / columns;
+    }
+}
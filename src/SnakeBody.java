@@ -0,0 +1,41 @@
+/**
+ * The SnakeBody interface is a read-only view of the snake's body segments.
+ * Segments are indexed from the head (index 0) to the tail (index {@code getLength() - 1}).
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface SnakeBody {
+    /**
+     * Gets the number of segments in the snake's body.
+     *
+     * @return The length of the snake.
+     */
+    int getLength();
+
+    /**
+     * Gets the X-coordinate of a body segment.
+     *
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's column on the board.
+     */
+    int getX(int index);
+
+    /**
+     * Gets the Y-coordinate of a body segment.
+     *
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's row on the board.
+     */
+    int getY(int index);
+
+    /**
+     * Gets an identifier for a body segment that stays the same while the segment is part of the body,
+     * even though its index grows by one on every move. It can be used to give segments stable colours.
+     *
+     * @param index The segment index, where 0 is the head.
+     * @return The segment's identifier.
+     */
+    int getSegmentId(int index);
+}
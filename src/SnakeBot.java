@@ -0,0 +1,18 @@
+/**
+ * The SnakeBot interface decides which way a simulated snake moves on each tick.
+ * A bot may be shared by several games running on different threads,
+ * so implementations must not keep per-game state.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface SnakeBot {
+    /**
+     * Chooses the direction for the next tick.
+     *
+     * @param snakeModel The game being played.
+     * @return The direction to move in ('U', 'D', 'L', 'R').
+     */
+    char chooseDirection(SnakeModel snakeModel);
+}
@@ -1,8 +1,18 @@
+import javax.swing.*;
+import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The SnakeController class handles the interaction between the SnakeModel and the SnakeView.
  * It initializes the game and sets up listeners for user input.
+ * By default the model is stepped by a {@link SimulationLoop} on its own thread, while a Swing timer
+ * repaints the view at the display's refresh rate from the latest snapshot, so the tick rate and the
+ * render rate are independent. In active rendering mode a single loop thread steps the model and renders
+ * straight to the screen.
  *
  * @author Alireza Mak
  * @version 1.0
@@ -12,6 +22,20 @@ import java.awt.event.*;
 public class SnakeController {
     private final SnakeModel snakeModel;
     private final SnakeView snakeView;
+    private final boolean isActiveRendering;
+    private final MetricsRegistry metrics;
+    private final Path replayDirectory;
+    private ReplayRecorder replayRecorder;
+    // Optional metrics of the render timer; null unless enabled
+    private LatencyHistogram renderInterval;
+    private Counter skippedSnapshots;
+    private SimulationLoop simulationLoop;
+    private Timer renderTimer;
+    private long shownTick;
+    private long shownInputTick;
+    private ActiveRenderLoop activeRenderLoop;
+    private Canvas activeCanvas;
+    private DirectionQueue directionQueue;
 
     /**
      * Constructor to initialize the SnakeController with the view and model.
@@ -20,8 +44,45 @@ public class SnakeController {
      * @param snakeModel The model component of the game.
      */
     public SnakeController(SnakeView snakeView, SnakeModel snakeModel) {
+        this(snakeView, snakeModel, false);
+    }
+
+    /**
+     * Constructor to initialize the SnakeController with the view and model,
+     * choosing how the game is driven.
+     *
+     * @param snakeView         The view component of the game.
+     * @param snakeModel        The model component of the game.
+     * @param isActiveRendering {@code true} to drive the game with an {@link ActiveRenderLoop},
+     *                          {@code false} to use a {@link SimulationLoop} and a render timer.
+     */
+    public SnakeController(SnakeView snakeView, SnakeModel snakeModel, boolean isActiveRendering) {
+        this(snakeView, snakeModel, isActiveRendering, null, null);
+    }
+
+    /**
+     * Constructor to initialize the SnakeController with the view and model,
+     * choosing how the game is driven, whether its loops record metrics, and whether games are recorded.
+     * The model and view record their own metrics once given the registry.
+     *
+     * @param snakeView         The view component of the game.
+     * @param snakeModel        The model component of the game.
+     * @param isActiveRendering {@code true} to drive the game with an {@link ActiveRenderLoop},
+     *                          {@code false} to use a {@link SimulationLoop} and a render timer.
+     * @param metrics           The registry to record to, or {@code null} to record nothing.
+     * @param replayDirectory   The directory to save a replay of every game to, or {@code null} to save none.
+     */
+    public SnakeController(SnakeView snakeView, SnakeModel snakeModel, boolean isActiveRendering,
+                           MetricsRegistry metrics, Path replayDirectory) {
         this.snakeView = snakeView;
         this.snakeModel = snakeModel;
+        this.isActiveRendering = isActiveRendering;
+        this.metrics = metrics;
+        this.replayDirectory = replayDirectory;
+        if (metrics != null) {
+            this.renderInterval = metrics.histogram("render.interval");
+            this.skippedSnapshots = metrics.counter("render.skippedSnapshots");
+        }
 
         // Initialize the model and view
         initializeGame();
@@ -36,26 +97,163 @@ public class SnakeController {
     }
 
     private void initializeGame() {
-        this.snakeModel.setScreenDetails(this.snakeView.getScreenProperties());
+        this.snakeModel.setScreenDetails(this.snakeView.getGeometry());
         startGame();
     }
 
     private void startGame() {
-        this.snakeModel.startGame(new SnakeActionListener(), this.snakeView.getDifficulty());
+        stopGame();
+        if (this.replayDirectory != null) {
+            // A fresh seed per game, so the game can be replayed from the seed and the recorded turns
+            long seed = ThreadLocalRandom.current().nextLong();
+            this.snakeModel.startGame(this.snakeView.getDifficulty(), seed);
+            this.replayRecorder = new ReplayRecorder(this.snakeModel.getGeometry(), this.snakeView.getDifficulty(), seed);
+        } else {
+            this.snakeModel.startGame(this.snakeView.getDifficulty());
+        }
+        this.directionQueue = new DirectionQueue(this.snakeModel.getDirection());
         updateView();
+        if (isActiveRendering) {
+            this.activeCanvas = this.snakeView.addActiveCanvas();
+            this.activeRenderLoop = new ActiveRenderLoop(this.snakeModel, this.snakeView, this.activeCanvas,
+                    this.directionQueue, this::handleActiveGameOver);
+            if (this.metrics != null) {
+                this.activeRenderLoop.setMetrics(this.metrics);
+            }
+            if (this.replayRecorder != null) {
+                this.activeRenderLoop.setReplayRecorder(this.replayRecorder);
+            }
+            this.activeRenderLoop.start();
+        } else {
+            this.simulationLoop = new SimulationLoop(this.snakeModel, this.directionQueue);
+            if (this.metrics != null) {
+                this.simulationLoop.setMetrics(this.metrics);
+            }
+            if (this.replayRecorder != null) {
+                this.simulationLoop.setReplayRecorder(this.replayRecorder);
+            }
+            // Show the first snapshot before the model starts changing under the view
+            GameSnapshot snapshot = this.simulationLoop.getLatestSnapshot();
+            this.snakeView.showSnapshot(snapshot, -1);
+            this.shownTick = snapshot.getTick();
+            this.shownInputTick = 0;
+            this.renderTimer = new Timer(1000 / SnakeView.getDisplayRefreshRate(), new RenderActionListener());
+            this.renderTimer.start();
+            this.simulationLoop.start();
+        }
     }
 
     /**
-     * Updates the view with the current state of the model.
+     * Stops whatever is driving the game: the simulation loop and render timer, or the active rendering loop.
+     */
+    private void stopGame() {
+        if (simulationLoop != null) {
+            simulationLoop.stop();
+            simulationLoop = null;
+            renderTimer.stop();
+            renderTimer = null;
+        }
+        if (activeRenderLoop != null) {
+            activeRenderLoop.stop();
+            activeRenderLoop = null;
+            snakeView.removeActiveCanvas(activeCanvas);
+            activeCanvas = null;
+        }
+        if (replayRecorder != null) {
+            saveReplay(replayRecorder);
+            replayRecorder = null;
+        }
+    }
+
+    /**
+     * Saves a game's replay to the replay directory, named after the time it was saved.
+     * A replay that cannot be saved is reported on the standard error, without interrupting the game.
+     *
+     * @param recorder The recording of the game, whose loop has stopped.
+     */
+    private void saveReplay(ReplayRecorder recorder) {
+        Path file = replayDirectory.resolve("replay-" + System.currentTimeMillis() + ".snkr");
+        try {
+            Files.createDirectories(replayDirectory);
+            Files.write(file, recorder.toByteArray());
+        } catch (IOException e) {
+            System.err.println("Could not save the replay " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the end of a game driven by the active rendering loop, uncovering the panel
+     * so the game over screen and reset button are shown. Ignored if a new game has started since.
+     */
+    private void handleActiveGameOver() {
+        if (!snakeModel.getIsRunning()) {
+            stopGame();
+            updateView();
+        }
+    }
+
+    /**
+     * Checks if a game is in progress, whether it is paused or not.
+     *
+     * @return {@code true} if a game is in progress, {@code false} otherwise.
+     */
+    private boolean isGameActive() {
+        return simulationLoop != null || activeRenderLoop != null;
+    }
+
+    /**
+     * Checks if a game is in progress and not paused.
+     *
+     * @return {@code true} if the game is ticking, {@code false} otherwise.
+     */
+    private boolean isGameTicking() {
+        if (simulationLoop != null) {
+            return !simulationLoop.isPaused();
+        }
+        return activeRenderLoop != null && !activeRenderLoop.isPaused();
+    }
+
+    /**
+     * Pauses the game in progress.
+     */
+    private void pauseGame() {
+        if (simulationLoop != null) {
+            simulationLoop.setPaused(true);
+        }
+        if (activeRenderLoop != null) {
+            activeRenderLoop.setPaused(true);
+        }
+    }
+
+    /**
+     * Resumes the game in progress.
+     */
+    private void resumeGame() {
+        if (simulationLoop != null) {
+            simulationLoop.setPaused(false);
+        }
+        if (activeRenderLoop != null) {
+            activeRenderLoop.setPaused(false);
+        }
+    }
+
+    /**
+     * Updates the view with the current state of the model and repaints the whole board.
      */
     private void updateView() {
+        updateViewState();
+        this.snakeView.repaint();
+    }
+
+    /**
+     * Passes the current state of the model to the view.
+     */
+    private void updateViewState() {
         this.snakeView.setAppleX(this.snakeModel.getAppleX());
         this.snakeView.setAppleY(this.snakeModel.getAppleY());
-        this.snakeView.setSnakeX(this.snakeModel.getSnakeX());
-        this.snakeView.setSnakeY(this.snakeModel.getSnakeY());
+        this.snakeView.setSnakeBody(this.snakeModel.getSnakeBody());
         this.snakeView.setScore(this.snakeModel.getScore());
         this.snakeView.setIsRunning(this.snakeModel.getIsRunning());
-        this.snakeView.repaint();
     }
 
     /**
@@ -76,13 +274,29 @@ public class SnakeController {
     private class SnakeGameKeyListener extends KeyAdapter {
         @Override
         public void keyPressed(KeyEvent e) {
-            if (snakeModel.getTimer() != null) {
+            if (isGameActive()) {
                 if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                     handleEscapeKey();
                 }
                 handleDirectionKey(e.getKeyCode());
             }
             handleResetButtonKey(e.getKeyCode());
+            handleDebugKey(e.getKeyCode());
+        }
+
+        /**
+         * Handles the debug keys: F3 shows or hides the input latency overlay,
+         * and F4 prints the input latency report to the standard output.
+         *
+         * @param keyCode the code of the key that was pressed.
+         */
+        private void handleDebugKey(int keyCode) {
+            if (keyCode == KeyEvent.VK_F3) {
+                snakeView.setShowingLatency(!snakeView.getIsShowingLatency());
+                snakeView.repaint();
+            } else if (keyCode == KeyEvent.VK_F4) {
+                snakeView.getInputLatency().writeReport(System.out, "Input to paint latency");
+            }
         }
 
         /**
@@ -99,24 +313,26 @@ public class SnakeController {
         }
 
         /**
-         * Updates the view with the current state of the model.
+         * Queues the direction for a coming tick, along with the time the key was pressed.
+         * The queue discards a direction that would turn the snake back onto itself.
          *
          * @param keyCode the code of the key that was pressed.
          */
         private void handleDirectionKey(int keyCode) {
-            snakeModel.getTimer().start();
+            resumeGame();
+            long timestamp = System.nanoTime();
             switch (keyCode) {
                 case KeyEvent.VK_UP:
-                    if (snakeModel.getDirection() != 'D') snakeModel.setDirection('U');
+                    directionQueue.offer('U', timestamp);
                     break;
                 case KeyEvent.VK_DOWN:
-                    if (snakeModel.getDirection() != 'U') snakeModel.setDirection('D');
+                    directionQueue.offer('D', timestamp);
                     break;
                 case KeyEvent.VK_RIGHT:
-                    if (snakeModel.getDirection() != 'L') snakeModel.setDirection('R');
+                    directionQueue.offer('R', timestamp);
                     break;
                 case KeyEvent.VK_LEFT:
-                    if (snakeModel.getDirection() != 'R') snakeModel.setDirection('L');
+                    directionQueue.offer('L', timestamp);
                     break;
             }
         }
@@ -127,23 +343,53 @@ public class SnakeController {
          */
 
         private void handleEscapeKey() {
-            if (snakeModel.getTimer().isRunning()) {
-                snakeModel.getTimer().stop();
+            if (isGameTicking()) {
+                pauseGame();
             }
             snakeView.showExitConfirmation();
         }
     }
 
     /**
-     * Action listener for the game timer.
+     * Action listener for the render timer.
+     * Shows the latest snapshot published by the simulation loop, if it has not been shown yet,
+     * and stops the game once the snapshot shows it has ended. The first time a snapshot carries a turn,
+     * the view is told when its key was pressed so the paint can record the input latency.
+     * With metrics enabled, it also records the time between timer events ({@code render.interval}), which shows
+     * the timer's jitter, and the ticks whose snapshots were never shown ({@code render.skippedSnapshots}).
      */
-    private class SnakeActionListener implements ActionListener {
+    private class RenderActionListener implements ActionListener {
+        private long previousTime;
+
         @Override
         public void actionPerformed(ActionEvent e) {
-            snakeModel.moveSnake(snakeView.getScreenProperties().get("UNIT_SIZE"));
-            snakeModel.checkApple();
-            snakeModel.checkCollision();
-            updateView();
+            if (simulationLoop == null) {
+                return;
+            }
+            if (renderInterval != null) {
+                long now = System.nanoTime();
+                if (previousTime != 0) {
+                    renderInterval.record(now - previousTime);
+                }
+                previousTime = now;
+            }
+            GameSnapshot snapshot = simulationLoop.getLatestSnapshot();
+            if (snapshot.getTick() == shownTick) {
+                return;
+            }
+            if (skippedSnapshots != null) {
+                skippedSnapshots.add(snapshot.getTick() - shownTick - 1);
+            }
+            if (snapshot.getInputTimestamp() != 0 && snapshot.getInputTick() != shownInputTick) {
+                snakeView.setInputTimestamp(snapshot.getInputTimestamp());
+                shownInputTick = snapshot.getInputTick();
+            }
+            snakeView.showSnapshot(snapshot, shownTick);
+            shownTick = snapshot.getTick();
+            if (!snapshot.getIsRunning()) {
+                stopGame();
+                updateView();
+            }
         }
     }
 
@@ -154,12 +400,12 @@ public class SnakeController {
     private class AddMenuQuitListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (snakeModel.getTimer() != null) {
-                if (snakeModel.getTimer().isRunning()) {
-                    snakeModel.getTimer().stop();
+            if (isGameActive()) {
+                if (isGameTicking()) {
+                    pauseGame();
                     snakeView.showExitConfirmation();
                 }
-                snakeModel.getTimer().start();
+                resumeGame();
             } else {
                 snakeView.showExitConfirmation();
             }
@@ -192,41 +438,39 @@ public class SnakeController {
 
     /**
      * Listener for setting the snake game difficulty to "easy".
-     * When triggered, this listener updates the model with the "easy" difficulty setting
-     * and ensures the easy difficulty radio button is selected in the view.
+     * When triggered, this listener ensures the easy difficulty radio button is selected in the view.
+     * The model takes the selected difficulty when the next game starts rather than in the middle of one:
+     * the game is stepped on its own thread, and a replay records the difficulty its game started with.
      */
     private class AddEasyDifficultyListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            snakeModel.setDifficulty(snakeView.removeHtml(snakeView.getEasyRadioButtonItem().getText()));
             snakeView.getEasyRadioButtonItem().setSelected(true);
         }
     }
 
     /**
      * Listener for setting the snake game difficulty to "medium".
-     * When triggered, this listener updates the model with the "medium" difficulty setting
-     * and ensures the medium difficulty radio button is selected in the view.
+     * When triggered, this listener ensures the medium difficulty radio button is selected in the view.
+     * The model takes the selected difficulty when the next game starts rather than in the middle of one:
+     * the game is stepped on its own thread, and a replay records the difficulty its game started with.
      */
     private class AddMediumDifficultyListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            System.out.println("Medium");
-            snakeModel.setDifficulty(snakeView.removeHtml(snakeView.getMediumRadioButtonItem().getText()));
             snakeView.getMediumRadioButtonItem().setSelected(true);
         }
     }
 
     /**
      * Listener for setting the snake game difficulty to "hard".
-     * When triggered, this listener updates the model with the "hard" difficulty setting
-     * and ensures the hard difficulty radio button is selected in the view.
+     * When triggered, this listener ensures the hard difficulty radio button is selected in the view.
+     * The model takes the selected difficulty when the next game starts rather than in the middle of one:
+     * the game is stepped on its own thread, and a replay records the difficulty its game started with.
      */
     private class AddHardDifficultyListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            System.out.println("Hard");
-            snakeModel.setDifficulty(snakeView.removeHtml(snakeView.getHardRadioButtonItem().getText()));
             snakeView.getHardRadioButtonItem().setSelected(true);
         }
     }
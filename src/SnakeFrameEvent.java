@@ -0,0 +1,32 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The SnakeFrameEvent class is a Java Flight Recorder event spanning one paint of the game board,
+ * whether a single repainted cell, the whole panel, or an actively rendered frame.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Name("snake.SnakeFrame")
+@Label("Snake Frame")
+@Category("Snake Game")
+@Description("One paint of the game board")
+class SnakeFrameEvent extends jdk.jfr.Event {
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Painted Width")
+    @Description("Width of the painted area in pixels")
+    int width;
+
+    @Label("Painted Height")
+    @Description("Height of the painted area in pixels")
+    int height;
+
+    @Label("Active Rendering")
+    boolean isActiveRendering;
+}
@@ -1,3 +1,7 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 /**
  * The SnakeGame class serves as the entry point for the Snake game application.
  * It initializes the game components, including the view, model, and controller.
@@ -12,9 +16,35 @@ public class SnakeGame {
      * It sets up the game by creating instances of SnakeView, SnakeModel,
      * and SnakeController, which manage the game's user interface, logic, and control flow.
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments; {@code --active} drives the game with active rendering
+     *             instead of the Swing timer, and {@code --metrics} records metrics and exposes them over JMX,
+     *             which {@code --metrics=<file>} also appends to the file every second as CSV,
+     *             or as JSON if the file name ends in {@code .json}; {@code --record=<directory>} saves
+     *             a replay of every game to the directory, for {@link ReplayPlayer}; {@code --server[=<port>]}
+     *             plays the game without a window for {@link GameClient}s to join, and
+     *             {@code --connect=<host>[:<port>]} joins such a game.
+     * @throws IOException If the server cannot listen on its port, or the client cannot reach the server.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            if (arg.equals("--server") || arg.startsWith("--server=")) {
+                int port = arg.startsWith("--server=") ? Integer.parseInt(arg.substring("--server=".length()))
+                        : GameServer.DEFAULT_PORT;
+                GameServer.serve(port, "easy");
+                return;
+            }
+            if (arg.startsWith("--connect=")) {
+                String address = arg.substring("--connect=".length());
+                int colon = address.lastIndexOf(':');
+                if (colon < 0) {
+                    new GameClient(address, GameServer.DEFAULT_PORT);
+                } else {
+                    new GameClient(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+                }
+                return;
+            }
+        }
+
         // Create the game view which handles the graphical interface and user interactions.
         SnakeView snakeView = new SnakeView();
 
@@ -22,6 +52,51 @@ public class SnakeGame {
         SnakeModel snakeModel = new SnakeModel();
 
         // Create the game controller which links the view and model, and handles user inputs.
-        new SnakeController(snakeView, snakeModel);
+        boolean isActiveRendering = Arrays.asList(args).contains("--active");
+        MetricsRegistry metrics = createMetrics(args);
+        if (metrics != null) {
+            snakeModel.setMetrics(metrics);
+            snakeView.setMetrics(metrics);
+        }
+        new SnakeController(snakeView, snakeModel, isActiveRendering, metrics, getReplayDirectory(args));
+    }
+
+    /**
+     * Gets the directory named by {@code --record=<directory>}.
+     *
+     * @param args Command-line arguments.
+     * @return The directory, or {@code null} if games are not recorded.
+     */
+    private static Path getReplayDirectory(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--record=")) {
+                return Path.of(arg.substring("--record=".length()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the metrics registry if {@code --metrics} is given, registering its MBean,
+     * and starts reporting to a file if one is named.
+     *
+     * @param args Command-line arguments.
+     * @return The registry, or {@code null} if metrics are not enabled.
+     */
+    private static MetricsRegistry createMetrics(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--metrics") || arg.startsWith("--metrics=")) {
+                MetricsRegistry metrics = new MetricsRegistry();
+                metrics.addGcGauges();
+                metrics.registerMBean();
+                if (arg.startsWith("--metrics=")) {
+                    MetricsReporter reporter = new MetricsReporter(metrics, Path.of(arg.substring("--metrics=".length())), 1000);
+                    reporter.start();
+                    Runtime.getRuntime().addShutdownHook(new Thread(reporter::stop));
+                }
+                return metrics;
+            }
+        }
+        return null;
     }
 }
@@ -1,6 +1,3 @@
-import javax.swing.*;
-import java.awt.event.ActionListener;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -9,6 +6,11 @@ import java.util.Random;
 /**
  * The SnakeModel class represents the game's state and logic.
  * It handles the snake's movement, collision detection, and apple generation.
+ * <p>
+ * The model has no dependency on Swing or AWT; it is advanced one tick at a time through
+ * {@link #step(char)}, so it can be driven by the game's timer or run headless in simulations.
+ * Two models created with the same seed and fed the same directions play out identically.
+ * </p>
  *
  * @author Alireza Mak
  * @version 1.0
@@ -16,14 +18,28 @@ import java.util.Random;
  */
 public class SnakeModel {
     private final Random rand;
-    private Map<String, Integer> screenProperties;
+    private BoardGeometry geometry;
     private int appleX;
     private int appleY;
+    private int columns;
+    private int rows;
     private int snakeLength;
-    private int[] snakeX;
-    private int[] snakeY;
+    // Circular buffer of packed cell indices (row * columns + column); the head lives at bodyHead.
+    private int[] body;
+    private int bodyHead;
+    // Number of heads written so far, so that segment i was written as head number headSerial - i
+    private int headSerial;
+    private int headColumn;
+    private int headRow;
+    private boolean isWallCollision;
+    private boolean isSelfCollision;
+    private OccupancyGrid occupancy;
+    private final SnakeBody snakeBody = new BodyView();
+    private final TickDelta tickDelta = new TickDelta();
+    // Optional timing of the tick's phases; null unless metrics are enabled
+    private LatencyHistogram moveSnakeTime;
+    private LatencyHistogram checkCollisionTime;
     private char direction;
-    private Timer timer;
     private final int DEFAULT_DELAY;
     private final int START_LENGTH;
     private int delay;
@@ -37,21 +53,62 @@ public class SnakeModel {
     private int delayStep;
 
     /**
-     * Constructor to initialize the SnakeModel.
+     * Constructor to initialize the SnakeModel with a random seed.
      */
     public SnakeModel() {
-        rand = new Random();
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Constructor to initialize the SnakeModel with a fixed seed.
+     *
+     * @param seed The seed for the apple placement.
+     */
+    public SnakeModel(long seed) {
+        rand = new Random(seed);
         this.DEFAULT_DELAY = 100;
         this.START_LENGTH = 4;
     }
 
     /**
-     * Sets the screen properties from the view.
+     * Constructor to initialize a SnakeModel for a board of the given size with a fixed seed.
+     *
+     * @param geometry The size of the game board.
+     * @param seed     The seed for the apple placement.
+     */
+    public SnakeModel(BoardGeometry geometry, long seed) {
+        this(seed);
+        setScreenDetails(geometry);
+    }
+
+    /**
+     * Sets the board geometry from the view.
+     * The model works in grid cells, so only the number of columns and rows is used.
+     *
+     * @param geometry The size of the game board.
+     */
+    public void setScreenDetails(BoardGeometry geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * Times {@link #moveSnake()} and {@link #checkCollision()} during every {@link #step(char)}
+     * into the {@code model.moveSnake} and {@code model.checkCollision} histograms.
      *
-     * @param screenProperties A map containing screen properties.
+     * @param metrics The registry to record to, or {@code null} to stop timing.
      */
-    public void setScreenDetails(Map<String, Integer> screenProperties) {
-        this.screenProperties = screenProperties;
+    public void setMetrics(MetricsRegistry metrics) {
+        this.moveSnakeTime = metrics != null ? metrics.histogram("model.moveSnake") : null;
+        this.checkCollisionTime = metrics != null ? metrics.histogram("model.checkCollision") : null;
+    }
+
+    /**
+     * Gets the board geometry the model plays on.
+     *
+     * @return The size of the game board.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
     /**
@@ -91,27 +148,34 @@ public class SnakeModel {
     }
 
     /**
-     * Gets the X-coordinates of the snake.
+     * Gets a read-only view of the snake's body, with segment positions in grid cells.
+     * The view always reflects the current state of the model.
      *
-     * @return The X-coordinates array.
+     * @return The snake's body, ordered from head to tail.
      */
-    public int[] getSnakeX() {
-        return snakeX;
+    public SnakeBody getSnakeBody() {
+        return snakeBody;
     }
 
     /**
-     * Gets the Y-coordinates of the snake.
+     * Checks whether moving onto a cell would end the game, because it is off the board
+     * or covered by the snake.
      *
-     * @return The Y-coordinates array.
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return {@code true} if the cell is blocked, {@code false} otherwise.
      */
-    public int[] getSnakeY() {
-        return snakeY;
+    public boolean isBlocked(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return true;
+        }
+        return occupancy.isOccupied(row * columns + column);
     }
 
     /**
      * Gets the Y-coordinate of the apple.
      *
-     * @return The apple's Y-coordinate.
+     * @return The apple's row.
      */
     public int getAppleY() {
         return appleY;
@@ -120,7 +184,7 @@ public class SnakeModel {
     /**
      * Gets the X-coordinate of the apple.
      *
-     * @return The apple's X-coordinate.
+     * @return The apple's column.
      */
     public int getAppleX() {
         return appleX;
@@ -128,76 +192,262 @@ public class SnakeModel {
 
 
     /**
-     * Gets the game's timer.
+     * Gets the changes made to the board by the latest call to {@link #step(char)}.
+     * The same object is reused and overwritten by every tick.
      *
-     * @return The timer.
+     * @return The changes of the latest tick.
      */
-    public Timer getTimer() {
-        return this.timer;
+    public TickDelta getTickDelta() {
+        return tickDelta;
+    }
+
+    /**
+     * Gets the delay between two ticks in milliseconds.
+     * The delay shrinks every time the snake eats an apple.
+     *
+     * @return The delay.
+     */
+    public int getDelay() {
+        return delay;
     }
 
     /**
      * Starts a new game by initializing the snake and setting the game state.
      *
-     * @param actionListener The ActionListener for the game timer.
+     * @param difficulty The difficulty level (e.g., "easy", "medium", "hard").
      */
-    public void startGame(ActionListener actionListener, String difficulty) {
+    public void startGame(String difficulty) {
+        tickDelta.clear();
         score = 0;
-        snakeLength = START_LENGTH;
-        this.snakeX = new int[snakeLength];
-        this.snakeY = new int[snakeLength];
+        initializeBody();
         direction = 'R';
         isRunning = true;
         delay = DEFAULT_DELAY;
         setDifficulty(difficulty);
-        timer = new Timer(delay, actionListener);
-        timer.start();
         createApple();
     }
 
     /**
-     * Creates a new apple at a random position on the screen.
+     * Starts a new game after reseeding the apple placement, so the game can be replayed exactly
+     * from its seed and the directions it was given.
+     *
+     * @param difficulty The difficulty level (e.g., "easy", "medium", "hard").
+     * @param seed       The seed for the apple placement.
+     */
+    public void startGame(String difficulty, long seed) {
+        rand.setSeed(seed);
+        startGame(difficulty);
+    }
+
+    /**
+     * Advances the game by one tick: turns the snake, moves it, and checks for apples and collisions.
+     * A direction that would reverse the snake onto itself is ignored.
+     *
+     * @param direction The direction to move in ('U', 'D', 'L', 'R').
+     * @return {@code true} if the game is still running after the tick, {@code false} otherwise.
+     */
+    public boolean step(char direction) {
+        tickDelta.clear();
+        if (isRunning) {
+            if (!isReverse(direction)) {
+                this.direction = direction;
+            }
+            if (moveSnakeTime == null) {
+                moveSnake();
+                checkApple();
+                checkCollision();
+            } else {
+                long start = System.nanoTime();
+                moveSnake();
+                long moved = System.nanoTime();
+                checkApple();
+                long checked = System.nanoTime();
+                checkCollision();
+                long end = System.nanoTime();
+                moveSnakeTime.record(moved - start);
+                checkCollisionTime.record(end - checked);
+            }
+        }
+        return isRunning;
+    }
+
+    /**
+     * Determines if a direction points straight back the way the snake is moving.
+     *
+     * @param direction The direction to check.
+     * @return {@code true} if the direction is the reverse of the current direction, {@code false} otherwise.
+     */
+    private boolean isReverse(char direction) {
+        switch (direction) {
+            case 'U':
+                return this.direction == 'D';
+            case 'D':
+                return this.direction == 'U';
+            case 'L':
+                return this.direction == 'R';
+            case 'R':
+                return this.direction == 'L';
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Places the snake in the top-left cell of the board and sizes the body buffer so that
+     * it can hold a snake covering the whole board without ever being reallocated.
      */
-    private void createApple() {
-        appleX = generateRandomPosition(screenProperties.get("SCREEN_WIDTH"));
-        appleY = generateRandomPosition(screenProperties.get("SCREEN_HEIGHT"));
+    private void initializeBody() {
+        columns = geometry.getColumns();
+        rows = geometry.getRows();
+        int capacity = getBodyCapacity();
+        if (body == null || body.length != capacity) {
+            body = new int[capacity];
+            occupancy = new OccupancyGrid(columns * rows);
+        }
+        occupancy.clear();
+        snakeLength = START_LENGTH;
+        bodyHead = 0;
+        headSerial = 0;
+        for (int i = 0; i < snakeLength; i++) {
+            body[i] = 0;
+        }
+        occupancy.occupy(0);
+        headColumn = 0;
+        headRow = 0;
+        isWallCollision = false;
+        isSelfCollision = false;
     }
 
     /**
-     * Generates a random position for the apple within the screen limits.
+     * Lays the snake out on the given cells, replacing its current body, and places a new apple.
+     * Used by the benchmark harness to put the model into a state with a snake of any length.
      *
-     * @param maxSize The maximum size (width or height) of the screen.
-     * @return The random position.
+     * @param cells     The packed cell indices (row * columns + column) of the body, from head to tail.
+     * @param direction The direction the snake is moving in.
      */
-    private int generateRandomPosition(int maxSize) {
-        return rand.nextInt(maxSize / screenProperties.get("UNIT_SIZE")) * screenProperties.get("UNIT_SIZE");
+    void placeSnake(int[] cells, char direction) {
+        occupancy.clear();
+        bodyHead = 0;
+        headSerial = 0;
+        for (int i = 0; i < cells.length; i++) {
+            body[i] = cells[i];
+            occupancy.occupy(cells[i]);
+        }
+        snakeLength = cells.length;
+        headColumn = cells[0] % columns;
+        headRow = cells[0] / columns;
+        this.direction = direction;
+        isWallCollision = false;
+        isSelfCollision = false;
+        isRunning = true;
+        createApple();
     }
 
     /**
-     * Moves the snake in the current direction.
+     * Puts the model into the state of a game received from a {@link GameServer}, so a client can step it
+     * ahead of the server to predict what its turns will do. The model's own apple placement cannot follow
+     * the server's, which depends on the server's random state and the order its board was filled in,
+     * so an apple placed by a later tick is only a guess.
      *
-     * @param unitSize The size of each unit the snake moves.
+     * @param snakeBody  The body, from head to tail.
+     * @param headSerial The segment id of the head.
+     * @param direction  The direction the snake is moving in.
+     * @param appleCell  The packed index of the apple's cell.
+     * @param score      The score.
+     * @param delay      The delay between ticks in milliseconds.
+     * @param delayStep  The amount the delay shrinks by for every apple eaten.
+     * @param isRunning  {@code true} if the game is still running, {@code false} otherwise.
      */
-    public void moveSnake(int unitSize) {
-        for (int i = snakeLength - 1; i > 0; i--) {
-            snakeX[i] = snakeX[i - 1];
-            snakeY[i] = snakeY[i - 1];
+    void restore(SnakeBody snakeBody, int headSerial, char direction, int appleCell, int score, int delay,
+                 int delayStep, boolean isRunning) {
+        columns = geometry.getColumns();
+        rows = geometry.getRows();
+        int capacity = getBodyCapacity();
+        if (body == null || body.length != capacity) {
+            body = new int[capacity];
+            occupancy = new OccupancyGrid(columns * rows);
+        }
+        occupancy.clear();
+        tickDelta.clear();
+        snakeLength = snakeBody.getLength();
+        bodyHead = 0;
+        for (int i = 0; i < snakeLength; i++) {
+            int cell = snakeBody.getY(i) * columns + snakeBody.getX(i);
+            body[i] = cell;
+            occupancy.occupy(cell);
         }
+        headColumn = snakeBody.getX(0);
+        headRow = snakeBody.getY(0);
+        this.headSerial = headSerial;
+        this.direction = direction;
+        appleX = appleCell % columns;
+        appleY = appleCell / columns;
+        this.score = score;
+        this.delay = delay;
+        this.delayStep = delayStep;
+        this.isRunning = isRunning;
+        isWallCollision = false;
+        isSelfCollision = false;
+    }
+
+    /**
+     * Creates a new apple on a random cell that is not covered by the snake.
+     * If the snake fills the whole board, there is nowhere left to place an apple and the game ends.
+     * Package-private so the benchmark harness can measure it directly.
+     */
+    void createApple() {
+        int cell = occupancy.randomFreeCell(rand);
+        if (cell < 0) {
+            isRunning = false;
+            tickDelta.setGameOver();
+            return;
+        }
+        tickDelta.setApple(appleY * columns + appleX, cell);
+        appleX = cell % columns;
+        appleY = cell / columns;
+    }
+
+    /**
+     * Moves the snake one cell in the current direction.
+     * Only the new head is written; the old tail simply falls out of the body buffer.
+     * The occupancy grid is updated as the tail leaves and the head enters, which is also
+     * when a self-collision is detected.
+     */
+    public void moveSnake() {
         switch (direction) {
             case 'R':
-                snakeX[0] += unitSize;
+                headColumn++;
                 break;
             case 'L':
-                snakeX[0] -= unitSize;
+                headColumn--;
                 break;
             case 'U':
-                snakeY[0] -= unitSize;
+                headRow--;
                 break;
 
             case 'D':
-                snakeY[0] += unitSize;
+                headRow++;
                 break;
         }
+        if (headColumn < 0 || headColumn >= columns || headRow < 0 || headRow >= rows) {
+            isWallCollision = true;
+            return;
+        }
+        int tailCell = body[bodySlot(snakeLength - 1)];
+        // A freshly grown tail is stacked on the segment before it, so that cell stays covered
+        if (tailCell != body[bodySlot(snakeLength - 2)]) {
+            occupancy.release(tailCell);
+            tickDelta.setRemovedCell(tailCell);
+        }
+        int headCell = headRow * columns + headColumn;
+        if (occupancy.isOccupied(headCell)) {
+            isSelfCollision = true;
+        }
+        occupancy.occupy(headCell);
+        tickDelta.setHead(body[bodyHead], headCell);
+        bodyHead = bodyHead == 0 ? body.length - 1 : bodyHead - 1;
+        body[bodyHead] = headCell;
+        headSerial++;
     }
 
     /**
@@ -205,34 +455,80 @@ public class SnakeModel {
      * If so, the snake grows and a new apple is created.
      */
     public void checkApple() {
-        if (appleX == snakeX[0] && appleY == snakeY[0]) {
+        if (appleX == headColumn && appleY == headRow) {
             growSnake();
             updateDelay();
             score++;
+            tickDelta.setScoreChanged();
             createApple();
         }
     }
 
     /**
      * Grows the snake by increasing its length.
+     * The new tail segment starts on the same cell as the current tail.
      */
     private void growSnake() {
+        body[bodySlot(snakeLength)] = body[bodySlot(snakeLength - 1)];
         snakeLength++;
-        snakeX = Arrays.copyOf(snakeX, snakeLength);
-        snakeY = Arrays.copyOf(snakeY, snakeLength);
-        snakeX[snakeLength - 1] = snakeX[snakeLength - 2];
-        snakeY[snakeLength - 1] = snakeY[snakeLength - 2];
+    }
+
+    /**
+     * Gets the size of the body buffer, which is more than the longest snake the board can hold.
+     *
+     * @return The body capacity.
+     */
+    int getBodyCapacity() {
+        return geometry.getCellCount() + START_LENGTH + 1;
+    }
+
+    /**
+     * Copies the body's packed cell indices, from head to tail, into an array.
+     *
+     * @param cells The array to copy into, which must hold at least the snake's length.
+     * @return The number of cells copied.
+     */
+    int copyBodyCells(int[] cells) {
+        int firstPart = Math.min(snakeLength, body.length - bodyHead);
+        System.arraycopy(body, bodyHead, cells, 0, firstPart);
+        System.arraycopy(body, 0, cells, firstPart, snakeLength - firstPart);
+        return snakeLength;
+    }
+
+    /**
+     * Gets the number of heads written so far, which identifies the head segment.
+     *
+     * @return The segment id of the head.
+     */
+    int getHeadSerial() {
+        return headSerial;
+    }
+
+    /**
+     * Gets the amount the delay shrinks by for every apple eaten, which depends on the difficulty.
+     *
+     * @return The delay step in milliseconds.
+     */
+    int getDelayStep() {
+        return delayStep;
+    }
+
+    /**
+     * Maps a segment index to its slot in the circular body buffer.
+     *
+     * @param index The segment index, where 0 is the head.
+     * @return The slot in the body buffer holding that segment.
+     */
+    private int bodySlot(int index) {
+        int slot = bodyHead + index;
+        return slot < body.length ? slot : slot - body.length;
     }
 
     /**
      * Updates the delay based on the current delay step.
-     * If a timer is active, the timer's delay is also updated.
      */
     private void updateDelay() {
         delay -= delayStep;
-        if (timer != null) {
-            timer.setDelay(delay);
-        }
     }
 
     /**
@@ -251,37 +547,53 @@ public class SnakeModel {
     public void checkCollision() {
         if (isCollision()) {
             isRunning = false;
-            stopTimer();
+            tickDelta.setGameOver();
         }
     }
 
+    /**
+     * Gets why the game ended.
+     *
+     * @return "wall" or "self" after a collision, otherwise "board full".
+     */
+    String getGameOverCause() {
+        if (isWallCollision) {
+            return "wall";
+        }
+        return isSelfCollision ? "self" : "board full";
+    }
+
     /**
      * Determines if the snake has collided with the wall or itself.
      *
      * @return {@code true} if the snake hits the wall or its own body, {@code false} otherwise.
      */
     private boolean isCollision() {
-        boolean isWallCollision = false, isSelfCollision = false;
-
-        if (snakeX[0] >= screenProperties.get("SCREEN_WIDTH") || snakeX[0] < 0 || snakeY[0] >= screenProperties.get("SCREEN_HEIGHT") || snakeY[0] < 0)
-            isWallCollision = true;
-
-        for (int i = 1; i < snakeLength; i++) {
-            if (snakeX[i] == snakeX[0] && snakeY[i] == snakeY[0]) {
-                isSelfCollision = true;
-                break;
-            }
-        }
         return isWallCollision || isSelfCollision;
     }
 
     /**
-     * Stops the game timer.
+     * A read-only view over the circular body buffer, reporting segment positions in grid cells.
      */
-    private void stopTimer() {
-        if (timer != null) {
-            timer.stop();
-            timer = null;
+    private class BodyView implements SnakeBody {
+        @Override
+        public int getLength() {
+            return snakeLength;
+        }
+
+        @Override
+        public int getX(int index) {
+            return body[bodySlot(index)] % columns;
+        }
+
+        @Override
+        public int getY(int index) {
+            return body[bodySlot(index)] / columns;
+        }
+
+        @Override
+        public int getSegmentId(int index) {
+            return headSerial - index;
         }
     }
 }
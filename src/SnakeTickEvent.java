@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The SnakeTickEvent class is a Java Flight Recorder event spanning one tick of the game,
+ * so the time spent stepping the model shows up next to GC pauses and JIT compilation in a recording.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Name("snake.SnakeTick")
+@Label("Snake Tick")
+@Category("Snake Game")
+@Description("One step of the game model")
+class SnakeTickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Score")
+    int score;
+
+    @Label("Delay")
+    @Description("Time between ticks set by the model")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+}
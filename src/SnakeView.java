@@ -1,13 +1,13 @@
 import Components.CustomButton;
 
 import javax.swing.*;
+import jdk.jfr.EventType;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseListener;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.image.BufferedImage;
 import java.util.Random;
 
 /**
@@ -20,10 +20,8 @@ import java.util.Random;
  * @since 2024-08-06
  */
 public class SnakeView extends JPanel {
-    // Constants for screen dimensions, unit size, and button properties
-    private static final int SCREEN_WIDTH = 800;
-    private static final int SCREEN_HEIGHT = 600;
-    private static final int UNIT_SIZE = 25;
+    // Constants for the default board size and button properties
+    static final BoardGeometry DEFAULT_GEOMETRY = new BoardGeometry(32, 24, 25);
     private static final int RESET_BUTTON_WIDTH = 180;
     private static final int RESET_BUTTON_HEIGHT = 45;
     private static final int RESET_BUTTON_BORDER_WIDTH = 2;
@@ -31,64 +29,99 @@ public class SnakeView extends JPanel {
     private static final Font GAME_OVER_FONT = new Font("Ink Free", Font.BOLD, 55);
     private static final Font FINAL_SCORE_FONT = new Font("Ink Free", Font.BOLD, 35);
     private static final Font MENU_FONT = new Font("Ink Free", Font.BOLD, 12);
+    private static final Font LATENCY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final int LATENCY_OVERLAY_HEIGHT = 18;
+    // Body segment colours, picked once so that painting a frame allocates nothing
+    private static final Color[] SEGMENT_COLORS = createSegmentColors(256);
+    // Checked before every paint, so no frame event is created unless a recording has enabled it
+    private static final EventType FRAME_EVENT_TYPE = EventType.getEventType(SnakeFrameEvent.class);
 
     private JFrame frame;
-    private final Map<String, Integer> screenProperties;
+    private final BoardGeometry geometry;
     private int appleX;
     private int appleY;
-    private int[] snakeX;
-    private int[] snakeY;
+    private SnakeBody snakeBody;
     private int score;
+    private final BufferedImage appleSprite;
+    private final BufferedImage headSprite;
+    // Background with and without the grid, each drawn once for the board's geometry and copied onto the panel
+    // each frame. Either thread that paints may draw them, so they are published through volatile fields.
+    private volatile BufferedImage boardLayer;
+    private volatile BufferedImage gridBoardLayer;
+    // The scratch state of painting the panel on the event dispatch thread, and of rendering active frames
+    // on the render loop's thread; neither thread touches the other's
+    private final PaintCache panelCache = new PaintCache();
+    private final PaintCache frameCache = new PaintCache();
+    // Set while an active rendering canvas covers the board, when the panel must not read the game state
+    private volatile Canvas activeCanvas;
+    private int scoreAreaHeight = -1;
     private boolean isRunning;
+    // Time from a key press to the first paint showing its turn
+    private final LatencyHistogram inputLatency = new LatencyHistogram();
+    private long inputTimestamp;
+    private volatile boolean isShowingLatency;
+    // Optional timing of paintComponent; null unless metrics are enabled
+    private LatencyHistogram paintTime;
     private CustomButton resetButton;
     private JMenuItem menuQuit;
     private JMenuItem menuEnableGrid;
     private JMenuItem menuDisableGrid;
-    private Boolean isShowingGrid = false;
+    private volatile boolean isShowingGrid;
     private JRadioButtonMenuItem easyRadioButtonItem, mediumRadioButtonItem, hardRadioButtonItem;
-    private String difficulty;
 
     /**
-     * Constructor for SnakeView class. Initializes the screen properties,
-     * sets up the panel, and initializes the main game frame and reset button.
+     * Constructor for SnakeView class using the default board size.
      */
     public SnakeView() {
-        screenProperties = new HashMap<>() {
-            {
-                put("SCREEN_WIDTH", SCREEN_WIDTH);
-                put("SCREEN_HEIGHT", SCREEN_HEIGHT);
-                put("UNIT_SIZE", UNIT_SIZE);
-            }
-        };
-        setBackground(Color.WHITE);
-        setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
-        setFocusable(true);
-        initializeMainFrame();
-        initializeResetButton();
+        this(DEFAULT_GEOMETRY);
     }
 
     /**
-     * set the X-coordinates of the snake.
+     * Constructor for SnakeView class. Initializes the board geometry,
+     * sets up the panel, and initializes the main game frame and reset button.
      *
-     * @param snakeX An array containing the X-coordinates of the snake.
+     * @param geometry The size of the game board.
      */
-    public void setSnakeX(int[] snakeX) {
-        this.snakeX = snakeX;
+    public SnakeView(BoardGeometry geometry) {
+        this(geometry, true);
     }
 
     /**
-     * set the Y-coordinates of the snake.
+     * Constructor for SnakeView class that can leave out the main game frame,
+     * so the panel can be painted offscreen (for example under {@code java.awt.headless}).
      *
-     * @param snakeY An array containing the Y-coordinates of the snake.
+     * @param geometry   The size of the game board.
+     * @param isWindowed {@code true} to show the panel in the main game frame, {@code false} otherwise.
      */
-    public void setSnakeY(int[] snakeY) {
-        this.snakeY = snakeY;
+    SnakeView(BoardGeometry geometry, boolean isWindowed) {
+        this.geometry = geometry;
+        this.appleSprite = createSprite(Color.GREEN, geometry.getUnitSize());
+        this.headSprite = createSprite(Color.RED, geometry.getUnitSize());
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(geometry.getWidth(), geometry.getHeight()));
+        setFocusable(true);
+        if (isWindowed) {
+            initializeMainFrame();
+        } else {
+            createMenuBar();
+            setSize(getPreferredSize());
+        }
+        initializeResetButton();
+    }
+
+    /**
+     * set the body of the snake.
+     *
+     * @param snakeBody A read-only view of the snake's body segments.
+     */
+    public void setSnakeBody(SnakeBody snakeBody) {
+        this.snakeBody = snakeBody;
     }
 
     /**
      * set the X-coordinate of the apple.
      *
-     * @param appleX An int containing the X-coordinate of the apple.
+     * @param appleX An int containing the column of the apple.
      */
     public void setAppleX(int appleX) {
         this.appleX = appleX;
@@ -97,7 +130,7 @@ public class SnakeView extends JPanel {
     /**
      * set the Y-coordinate of the apple.
      *
-     * @param appleY An int containing the Y-coordinate of the apple.
+     * @param appleY An int containing the row of the apple.
      */
     public void setAppleY(int appleY) {
         this.appleY = appleY;
@@ -131,6 +164,47 @@ public class SnakeView extends JPanel {
         this.isShowingGrid = isShowingGrid;
     }
 
+    /**
+     * Sets when the key behind the turn in the state about to be painted was pressed.
+     * The next paint records the time since then in the input latency histogram.
+     *
+     * @param inputTimestamp The {@link System#nanoTime()} of the key press.
+     */
+    public void setInputTimestamp(long inputTimestamp) {
+        this.inputTimestamp = inputTimestamp;
+    }
+
+    /**
+     * Gets the histogram of the times from a key press to the first paint showing its turn.
+     *
+     * @return The input latency histogram.
+     */
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * Times every {@link #paintComponent(Graphics)} into the {@code view.paintComponent} histogram.
+     *
+     * @param metrics The registry to record to, or {@code null} to stop timing.
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.paintTime = metrics != null ? metrics.histogram("view.paintComponent") : null;
+    }
+
+    /**
+     * Sets whether the input latency debug overlay is shown at the bottom of the board.
+     *
+     * @param isShowingLatency {@code true} to show the overlay, {@code false} to hide it.
+     */
+    public void setShowingLatency(boolean isShowingLatency) {
+        this.isShowingLatency = isShowingLatency;
+    }
+
+    public boolean getIsShowingLatency() {
+        return isShowingLatency;
+    }
+
     /**
      * get the Y-coordinate of the apple.
      */
@@ -139,10 +213,10 @@ public class SnakeView extends JPanel {
     }
 
     /**
-     * get the screen properties like width- height and unit.
+     * get the board geometry like columns, rows and unit size.
      */
-    public Map<String, Integer> getScreenProperties() {
-        return screenProperties;
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
     public JRadioButtonMenuItem getEasyRadioButtonItem() {
@@ -164,7 +238,7 @@ public class SnakeView extends JPanel {
         frame = new JFrame("Snake Game");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setResizable(false);
-        initializeMenuBar();
+        frame.setJMenuBar(createMenuBar());
 
         frame.add(this);
         frame.pack();
@@ -184,23 +258,201 @@ public class SnakeView extends JPanel {
         }
     }
 
+    /**
+     * Shows the state captured in a snapshot. If the snapshot directly follows the previous one shown,
+     * only the parts of the board changed by its tick are repainted: the cells the head and tail moved through,
+     * the old and new apple, and the score. Otherwise, or when the game has ended, the whole panel is repainted.
+     * <p>
+     * The regions are painted right away, one by one, because the RepaintManager would otherwise merge
+     * them into a single rectangle that spans most of the board whenever the head and tail are far apart.
+     * Must be called on the event dispatch thread.
+     * </p>
+     *
+     * @param snapshot     The snapshot to show.
+     * @param previousTick The tick of the snapshot shown before, or -1 if there was none.
+     */
+    public void showSnapshot(GameSnapshot snapshot, long previousTick) {
+        setSnakeBody(snapshot);
+        setAppleX(snapshot.getAppleX());
+        setAppleY(snapshot.getAppleY());
+        setScore(snapshot.getScore());
+        setIsRunning(snapshot.getIsRunning());
+        if (!snapshot.getIsRunning() || snapshot.getTick() != previousTick + 1) {
+            repaint();
+            return;
+        }
+        for (int i = 0; i < snapshot.getChangedCellCount(); i++) {
+            repaintCell(snapshot.getChangedCell(i));
+        }
+        if (snapshot.isScoreChanged()) {
+            if (scoreAreaHeight < 0) {
+                scoreAreaHeight = SCORE_FONT.getSize() + getFontMetrics(SCORE_FONT).getMaxDescent();
+            }
+            paintImmediately(0, 0, geometry.getWidth(), scoreAreaHeight);
+        }
+        if (isShowingLatency && panelCache.latencyStringCount != inputLatency.getCount()) {
+            paintImmediately(0, geometry.getHeight() - LATENCY_OVERLAY_HEIGHT, geometry.getWidth(), LATENCY_OVERLAY_HEIGHT);
+        }
+    }
+
+    /**
+     * Repaints a single cell of the board.
+     *
+     * @param cell The packed cell index, or -1 to do nothing.
+     */
+    private void repaintCell(int cell) {
+        if (cell >= 0) {
+            int unitSize = geometry.getUnitSize();
+            paintImmediately(cell % geometry.getColumns() * unitSize, cell / geometry.getColumns() * unitSize, unitSize, unitSize);
+        }
+    }
+
     /**
      * Paints the game components on the panel, including the grid, apple, snake, and score.
-     * Also handles the game over state display.
+     * Also handles the game over state display, and records the input latency of a newly shown turn.
+     * While an active rendering canvas covers the board, only the board is painted: the game belongs
+     * to the render loop's thread then, and is shown by {@link #renderFrame(Graphics, SnakeModel, float)}.
      *
      * @param g The Graphics object used for painting.
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (isShowingGrid) {
-            drawGrid(g);
+        if (activeCanvas != null) {
+            drawBoard(g);
+            return;
         }
+        long start = paintTime != null ? System.nanoTime() : 0;
+        SnakeFrameEvent frameEvent = beginFrameEvent();
+        drawBoard(g);
         if (isRunning) {
             drawGame(g);
         } else {
             drawGameOver(g);
         }
+        recordInputLatency();
+        if (isShowingLatency) {
+            drawLatencyOverlay(g, panelCache);
+        }
+        if (paintTime != null) {
+            paintTime.record(System.nanoTime() - start);
+        }
+        commitFrameEvent(frameEvent, g, snakeBody, panelCache, false);
+    }
+
+    /**
+     * Begins the flight recorder event of a paint.
+     *
+     * @return The event, or {@code null} if no recording has enabled it.
+     */
+    private static SnakeFrameEvent beginFrameEvent() {
+        if (!FRAME_EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        SnakeFrameEvent frameEvent = new SnakeFrameEvent();
+        frameEvent.begin();
+        return frameEvent;
+    }
+
+    /**
+     * Commits the flight recorder event of a paint.
+     *
+     * @param frameEvent        The event begun before painting, or {@code null} to do nothing.
+     * @param g                 The Graphics object that was painted, whose clip is the painted area.
+     * @param snakeBody         The body that was painted, or {@code null} if there was none.
+     * @param cache             The scratch state of the thread painting.
+     * @param isActiveRendering {@code true} if the frame was actively rendered.
+     */
+    private void commitFrameEvent(SnakeFrameEvent frameEvent, Graphics g, SnakeBody snakeBody, PaintCache cache,
+                                  boolean isActiveRendering) {
+        if (frameEvent == null) {
+            return;
+        }
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            Rectangle clipBounds = cache.clipBounds;
+            clipBounds.setBounds(0, 0, geometry.getWidth(), geometry.getHeight());
+            g.getClipBounds(clipBounds);
+            frameEvent.snakeLength = snakeBody != null ? snakeBody.getLength() : 0;
+            frameEvent.width = clipBounds.width;
+            frameEvent.height = clipBounds.height;
+            frameEvent.isActiveRendering = isActiveRendering;
+            frameEvent.commit();
+        }
+    }
+
+    private void recordInputLatency() {
+        if (inputTimestamp != 0) {
+            inputLatency.record(System.nanoTime() - inputTimestamp);
+            inputTimestamp = 0;
+        }
+    }
+
+    /**
+     * Draws the input latency percentiles in a band along the bottom of the board.
+     * The text is only rebuilt when a new latency has been recorded.
+     *
+     * @param g     The Graphics object used for painting.
+     * @param cache The scratch state of the thread painting.
+     */
+    private void drawLatencyOverlay(Graphics g, PaintCache cache) {
+        long count = inputLatency.getCount();
+        if (count != cache.latencyStringCount) {
+            cache.latencyString = String.format("input->paint  p50 %.2f ms  p99 %.2f ms  max %.2f ms  n=%d",
+                    inputLatency.getValueAtPercentile(50) / 1e6, inputLatency.getValueAtPercentile(99) / 1e6,
+                    inputLatency.getMax() / 1e6, count);
+            cache.latencyStringCount = count;
+        }
+        int top = geometry.getHeight() - LATENCY_OVERLAY_HEIGHT;
+        g.setColor(Color.BLACK);
+        g.fillRect(0, top, geometry.getWidth(), LATENCY_OVERLAY_HEIGHT);
+        g.setColor(Color.GREEN);
+        g.setFont(LATENCY_FONT);
+        g.drawString(cache.latencyString, 4, top + LATENCY_FONT.getSize() + 1);
+    }
+
+    /**
+     * Draws the background and, if enabled, the grid by copying the cached board layer.
+     * The layer covers the whole panel, so it also takes the place of the usual background fill.
+     *
+     * @param g The Graphics object used for painting.
+     */
+    private void drawBoard(Graphics g) {
+        BufferedImage layer;
+        if (isShowingGrid) {
+            layer = gridBoardLayer;
+            if (layer == null) {
+                layer = createBoardLayer(true);
+                gridBoardLayer = layer;
+            }
+        } else {
+            layer = boardLayer;
+            if (layer == null) {
+                layer = createBoardLayer(false);
+                boardLayer = layer;
+            }
+        }
+        g.drawImage(layer, 0, 0, null);
+    }
+
+    /**
+     * Renders the background and, if asked for, the grid into an image matching the screen's format.
+     *
+     * @param isShowingGrid {@code true} to draw the grid, {@code false} otherwise.
+     * @return The board layer.
+     */
+    private BufferedImage createBoardLayer(boolean isShowingGrid) {
+        GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+        BufferedImage layer = graphicsConfiguration != null
+                ? graphicsConfiguration.createCompatibleImage(geometry.getWidth(), geometry.getHeight())
+                : new BufferedImage(geometry.getWidth(), geometry.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics g = layer.getGraphics();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, geometry.getWidth(), geometry.getHeight());
+        if (isShowingGrid) {
+            drawGrid(g);
+        }
+        g.dispose();
+        return layer;
     }
 
     /**
@@ -209,12 +461,13 @@ public class SnakeView extends JPanel {
      * @param g The Graphics object used for painting.
      */
     private void drawGrid(Graphics g) {
+        int unitSize = geometry.getUnitSize();
         g.setColor(Color.BLACK);
-        for (int x = 0; x < SCREEN_WIDTH / UNIT_SIZE; x++) {
-            g.drawLine(x * UNIT_SIZE, 0, x * UNIT_SIZE, SCREEN_HEIGHT);
+        for (int x = 0; x < geometry.getColumns(); x++) {
+            g.drawLine(x * unitSize, 0, x * unitSize, geometry.getHeight());
         }
-        for (int y = 0; y < SCREEN_HEIGHT / UNIT_SIZE; y++) {
-            g.drawLine(0, y * UNIT_SIZE, SCREEN_WIDTH, y * UNIT_SIZE);
+        for (int y = 0; y < geometry.getRows(); y++) {
+            g.drawLine(0, y * unitSize, geometry.getWidth(), y * unitSize);
         }
     }
 
@@ -224,50 +477,238 @@ public class SnakeView extends JPanel {
      * @param g The Graphics object used for painting.
      */
     private void drawGame(Graphics g) {
-        drawApple(g);
+        drawApple(g, appleX, appleY);
         drawSnake(g);
-        drawScore(g);
+        drawScore(g, score, panelCache);
     }
 
     /**
      * Draws the apple on the game board.
      *
-     * @param g The Graphics object used for painting.
+     * @param g      The Graphics object used for painting.
+     * @param appleX The column of the apple.
+     * @param appleY The row of the apple.
      */
-    private void drawApple(Graphics g) {
-        g.setColor(Color.GREEN);
-        g.fillOval(appleX, appleY, UNIT_SIZE, UNIT_SIZE);
+    private void drawApple(Graphics g, int appleX, int appleY) {
+        int unitSize = geometry.getUnitSize();
+        g.drawImage(appleSprite, appleX * unitSize, appleY * unitSize, null);
     }
 
     /**
-     * Draws the snake on the game board. The head of the snake is red, while the body
-     * segments are colored randomly.
+     * Draws the snake on the game board. The head of the snake is red, while each body
+     * segment keeps a random colour from the palette for as long as it is part of the body.
+     * Segments are drawn from the tail up, so the head is always on top.
      *
      * @param g The Graphics object used for painting.
      */
     private void drawSnake(Graphics g) {
-        for (int i = 0; i < snakeX.length; i++) {
-            if (i == 0) {
-                g.setColor(Color.RED);
-                g.fillRoundRect(snakeX[i], snakeY[i], UNIT_SIZE, UNIT_SIZE, UNIT_SIZE, UNIT_SIZE);
-            } else {
-                g.setColor(new Color(new Random().nextInt(255), new Random().nextInt(255), new Random().nextInt(255)));
-                g.fillRect(snakeX[i], snakeY[i], UNIT_SIZE, UNIT_SIZE);
+        int unitSize = geometry.getUnitSize();
+        drawSnakeBody(g, snakeBody, panelCache);
+        drawHead(g, snakeBody.getX(0) * unitSize, snakeBody.getY(0) * unitSize);
+    }
+
+    /**
+     * Draws the body segments of the snake, without the head.
+     *
+     * @param g         The Graphics object used for painting.
+     * @param snakeBody The body to draw.
+     * @param cache     The scratch state of the thread painting.
+     */
+    private void drawSnakeBody(Graphics g, SnakeBody snakeBody, PaintCache cache) {
+        int unitSize = geometry.getUnitSize();
+
+        // Skip segments outside the clip, which is a single cell or two for most repaints
+        Rectangle clipBounds = cache.clipBounds;
+        clipBounds.setBounds(0, 0, geometry.getWidth(), geometry.getHeight());
+        g.getClipBounds(clipBounds);
+        int clipLeft = clipBounds.x - unitSize;
+        int clipTop = clipBounds.y - unitSize;
+        int clipRight = clipBounds.x + clipBounds.width;
+        int clipBottom = clipBounds.y + clipBounds.height;
+
+        for (int i = snakeBody.getLength() - 1; i > 0; i--) {
+            int x = snakeBody.getX(i) * unitSize;
+            int y = snakeBody.getY(i) * unitSize;
+            if (x > clipLeft && x < clipRight && y > clipTop && y < clipBottom) {
+                g.setColor(getSegmentColor(snakeBody, i));
+                g.fillRect(x, y, unitSize, unitSize);
             }
         }
     }
 
     /**
-     * Draws the current score on the game board.
+     * Gets the palette colour of a body segment.
+     *
+     * @param snakeBody The body.
+     * @param index     The segment index, where 0 is the head.
+     * @return The segment's colour.
+     */
+    private static Color getSegmentColor(SnakeBody snakeBody, int index) {
+        return SEGMENT_COLORS[snakeBody.getSegmentId(index) & (SEGMENT_COLORS.length - 1)];
+    }
+
+    /**
+     * Draws the head of the snake.
      *
      * @param g The Graphics object used for painting.
+     * @param x The X-coordinate of the head in pixels.
+     * @param y The Y-coordinate of the head in pixels.
      */
-    private void drawScore(Graphics g) {
+    private void drawHead(Graphics g, int x, int y) {
+        g.drawImage(headSprite, x, y, null);
+    }
+
+    /**
+     * Renders a whole frame for active rendering, blending the latest tick into the frame.
+     * The head slides from the cell it left towards its new cell, and the tail slides off the cell it freed,
+     * as the fraction of the tick that has passed grows from 0 to 1.
+     * <p>
+     * Must be called on the thread that steps the model, which the game is read from directly rather than
+     * through the view's fields, so nothing the event dispatch thread paints from is written here.
+     * </p>
+     *
+     * @param g          The Graphics object used for painting.
+     * @param snakeModel The game, just after its latest tick.
+     * @param alpha      The fraction of the current tick that has passed, from 0 to 1.
+     */
+    public void renderFrame(Graphics g, SnakeModel snakeModel, float alpha) {
+        SnakeFrameEvent frameEvent = beginFrameEvent();
+        SnakeBody snakeBody = snakeModel.getSnakeBody();
+        TickDelta tickDelta = snakeModel.getTickDelta();
+        int unitSize = geometry.getUnitSize();
+        int columns = geometry.getColumns();
+        int length = snakeBody.getLength();
+        drawBoard(g);
+        drawApple(g, snakeModel.getAppleX(), snakeModel.getAppleY());
+        drawSnakeBody(g, snakeBody, frameCache);
+
+        int removedCell = tickDelta.getRemovedCell();
+        if (removedCell >= 0 && length > 1) {
+            int tailX = snakeBody.getX(length - 1) * unitSize;
+            int tailY = snakeBody.getY(length - 1) * unitSize;
+            g.setColor(getSegmentColor(snakeBody, length - 1));
+            g.fillRect(interpolate(removedCell % columns * unitSize, tailX, alpha),
+                    interpolate(removedCell / columns * unitSize, tailY, alpha), unitSize, unitSize);
+        }
+
+        int headX = snakeBody.getX(0) * unitSize;
+        int headY = snakeBody.getY(0) * unitSize;
+        int previousHeadCell = tickDelta.getPreviousHeadCell();
+        if (previousHeadCell >= 0) {
+            headX = interpolate(previousHeadCell % columns * unitSize, headX, alpha);
+            headY = interpolate(previousHeadCell / columns * unitSize, headY, alpha);
+        }
+        drawHead(g, headX, headY);
+        drawScore(g, snakeModel.getScore(), frameCache);
+        if (isShowingLatency) {
+            drawLatencyOverlay(g, frameCache);
+        }
+        commitFrameEvent(frameEvent, g, snakeBody, frameCache, true);
+    }
+
+    /**
+     * Linearly interpolates between two pixel positions.
+     */
+    private static int interpolate(int from, int to, float alpha) {
+        return from + Math.round((to - from) * alpha);
+    }
+
+    /**
+     * Adds a heavyweight canvas covering the whole board, for active rendering through a BufferStrategy.
+     * The canvas does not take the keyboard focus, so key presses still reach the panel.
+     *
+     * @return The canvas, which must be removed again with {@link #removeActiveCanvas(Canvas)}.
+     */
+    public Canvas addActiveCanvas() {
+        Canvas canvas = new Canvas();
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false);
+        canvas.setBounds(0, 0, geometry.getWidth(), geometry.getHeight());
+        add(canvas);
+        validate();
+        canvas.createBufferStrategy(2);
+        activeCanvas = canvas;
+        return canvas;
+    }
+
+    /**
+     * Removes a canvas added for active rendering, uncovering the panel and its reset button.
+     * The render loop must have stopped, since the panel goes back to painting the game.
+     *
+     * @param canvas The canvas to remove.
+     */
+    public void removeActiveCanvas(Canvas canvas) {
+        remove(canvas);
+        if (activeCanvas == canvas) {
+            activeCanvas = null;
+        }
+        repaint();
+    }
+
+    /**
+     * Gets the refresh rate of the screen, for pacing frames.
+     *
+     * @return The refresh rate in Hz, or 60 if it is not known.
+     */
+    public static int getDisplayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 60;
+        }
+        int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDisplayMode().getRefreshRate();
+        return refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? 60 : refreshRate;
+    }
+
+    /**
+     * Draws a round shape of one cell into an image, so it can be copied onto the board
+     * each frame instead of being rasterized again.
+     *
+     * @param color    The colour of the shape.
+     * @param unitSize The size of a cell in pixels.
+     * @return The sprite image.
+     */
+    private static BufferedImage createSprite(Color color, int unitSize) {
+        BufferedImage sprite = new BufferedImage(unitSize, unitSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics g = sprite.getGraphics();
+        g.setColor(color);
+        g.fillRoundRect(0, 0, unitSize, unitSize, unitSize, unitSize);
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * Creates the palette of random body segment colours.
+     *
+     * @param size The number of colours, which must be a power of two.
+     * @return The palette.
+     */
+    private static Color[] createSegmentColors(int size) {
+        Random random = new Random();
+        Color[] colors = new Color[size];
+        for (int i = 0; i < size; i++) {
+            colors[i] = new Color(random.nextInt(255), random.nextInt(255), random.nextInt(255));
+        }
+        return colors;
+    }
+
+    /**
+     * Draws the current score on the game board. The text and its position are only worked out again
+     * when the score changes.
+     *
+     * @param g     The Graphics object used for painting.
+     * @param score The score to draw.
+     * @param cache The scratch state of the thread painting.
+     */
+    private void drawScore(Graphics g, int score, PaintCache cache) {
         g.setColor(Color.BLACK);
         g.setFont(SCORE_FONT);
-        String scoreString = "Score: " + score;
-        FontMetrics scoreFontMetrics = g.getFontMetrics(SCORE_FONT);
-        g.drawString(scoreString, (SCREEN_WIDTH - scoreFontMetrics.stringWidth(scoreString)) / 2, SCORE_FONT.getSize());
+        if (cache.scoreString == null || cache.score != score) {
+            cache.scoreString = "Score: " + score;
+            cache.score = score;
+            FontMetrics scoreFontMetrics = g.getFontMetrics(SCORE_FONT);
+            cache.scoreStringX = (geometry.getWidth() - scoreFontMetrics.stringWidth(cache.scoreString)) / 2;
+        }
+        g.drawString(cache.scoreString, cache.scoreStringX, SCORE_FONT.getSize());
     }
 
     /**
@@ -280,12 +721,12 @@ public class SnakeView extends JPanel {
         g.setFont(GAME_OVER_FONT);
         String gameOverString = "Game Over";
         FontMetrics gameOverFontMetrics = g.getFontMetrics(GAME_OVER_FONT);
-        g.drawString(gameOverString, (SCREEN_WIDTH - gameOverFontMetrics.stringWidth(gameOverString)) / 2, SCREEN_HEIGHT / 2);
+        g.drawString(gameOverString, (geometry.getWidth() - gameOverFontMetrics.stringWidth(gameOverString)) / 2, geometry.getHeight() / 2);
 
         g.setFont(FINAL_SCORE_FONT);
         String scoreString = "Your final score is " + score;
         FontMetrics scoreFontMetrics = g.getFontMetrics(FINAL_SCORE_FONT);
-        g.drawString(scoreString, (SCREEN_WIDTH - scoreFontMetrics.stringWidth(scoreString)) / 2, SCREEN_HEIGHT / 2 + scoreFontMetrics.getHeight());
+        g.drawString(scoreString, (geometry.getWidth() - scoreFontMetrics.stringWidth(scoreString)) / 2, geometry.getHeight() / 2 + scoreFontMetrics.getHeight());
     }
 
     /**
@@ -294,7 +735,7 @@ public class SnakeView extends JPanel {
      */
     private void initializeResetButton() {
         resetButton = new CustomButton("Play Again", RESET_BUTTON_BORDER_WIDTH);
-        resetButton.setBounds((SCREEN_WIDTH - RESET_BUTTON_WIDTH) / 2, SCREEN_HEIGHT / 2 + RESET_BUTTON_HEIGHT * 2, RESET_BUTTON_WIDTH, RESET_BUTTON_HEIGHT);
+        resetButton.setBounds((geometry.getWidth() - RESET_BUTTON_WIDTH) / 2, geometry.getHeight() / 2 + RESET_BUTTON_HEIGHT * 2, RESET_BUTTON_WIDTH, RESET_BUTTON_HEIGHT);
         resetButton.setFont(new Font("Ink Free", Font.BOLD, 25));
         resetButton.setVisible(false);
         setLayout(null);
@@ -311,7 +752,7 @@ public class SnakeView extends JPanel {
     }
 
     /**
-     * Initializes the menu bar for the Snake game.
+     * Creates the menu bar for the Snake game.
      *
      * <p>Creates a menu bar with a "File" menu that includes:
      * <ul>
@@ -326,9 +767,11 @@ public class SnakeView extends JPanel {
      *   <li>'Ctrl+Q' to quit the game.</li>
      * </ul>
      *
-     * <p>The menu bar is then attached to the main game frame.</p>
+     * <p>The menu bar is then returned so it can be attached to the main game frame.</p>
+     *
+     * @return The menu bar.
      */
-    private void initializeMenuBar() {
+    private JMenuBar createMenuBar() {
 
         // Create the menu bar
         JMenuBar menuBar = new JMenuBar();
@@ -373,10 +816,7 @@ public class SnakeView extends JPanel {
         //Added file menu to the menubar
         menuBar.add(fileMenu);
 
-        // Set the menu bar on the frame
-        frame.setJMenuBar(menuBar);
-
-        difficulty = removeHtml(easyRadioButtonItem.getText()).toLowerCase();
+        return menuBar;
     }
 
     private JMenu getSubmenuDifficulty() {
@@ -485,11 +925,26 @@ public class SnakeView extends JPanel {
     }
 
     /**
-     * Retrieves the current difficulty setting as a lowercase string.
+     * Retrieves the difficulty selected in the menu as a lowercase string.
      *
-     * @return the current difficulty setting in lowercase.
+     * @return the selected difficulty in lowercase.
      */
     public String getDifficulty() {
-        return difficulty.toLowerCase();
+        JRadioButtonMenuItem selected = hardRadioButtonItem.isSelected() ? hardRadioButtonItem
+                : mediumRadioButtonItem.isSelected() ? mediumRadioButtonItem : easyRadioButtonItem;
+        return removeHtml(selected.getText()).toLowerCase();
+    }
+
+    /**
+     * The scratch objects and cached text of one painting thread, so painting allocates nothing
+     * from frame to frame and two threads never share them.
+     */
+    private static final class PaintCache {
+        private final Rectangle clipBounds = new Rectangle();
+        private String scoreString;
+        private int score;
+        private int scoreStringX;
+        private String latencyString;
+        private long latencyStringCount = -1;
     }
 }
@@ -0,0 +1,311 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The SnapshotCodec class writes and reads the full state of a game in a compact binary layout, for a
+ * {@link GameServer} to send its clients on joining and whenever a new game starts. The state starts with a
+ * header of fixed size and layout, so any field can be read straight from the buffer at its offset without
+ * decoding the rest; the body follows as the head's cell and the path from there to the tail.
+ * <p>
+ * The path is run-length encoded, one byte per run: the direction of the step from one segment to the next
+ * in the low two bits, in the order of {@link GameProtocol#DIRECTIONS}, and the number of steps less one in
+ * the other six. A straight snake of 64 segments takes one byte, and even a snake winding over the whole
+ * board takes no more than a byte per segment. Segments stacked on the tail's cell, as they are at the start
+ * of a game and for a tick after the snake grows, are counted in the header rather than stepped.
+ * </p>
+ * <pre>
+ *  0 byte  version        1 byte  flags (direction in the low two bits, then running)
+ *  2 short columns        4 short rows            6 short unit size
+ *  8 long  tick          16 int   score          20 int   head serial
+ * 24 int   apple cell (-1 for none)              28 int   delay in milliseconds
+ * 32 int   delay step    36 int   tick period in microseconds (0 if the server follows the delay)
+ * 40 int   length        44 int   head cell      48 int   run count
+ * 52 int   stacked tail segments
+ * 56 the runs
+ * </pre>
+ * <p>
+ * Multi-byte fields are in the buffer's byte order, big-endian by default. Writing and reading go through
+ * absolute offsets from the start of the state and never allocate.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class SnapshotCodec {
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 56;
+
+    static final int VERSION_OFFSET = 0;
+    static final int FLAGS_OFFSET = 1;
+    static final int COLUMNS_OFFSET = 2;
+    static final int ROWS_OFFSET = 4;
+    static final int UNIT_SIZE_OFFSET = 6;
+    static final int TICK_OFFSET = 8;
+    static final int SCORE_OFFSET = 16;
+    static final int HEAD_SERIAL_OFFSET = 20;
+    static final int APPLE_CELL_OFFSET = 24;
+    static final int DELAY_OFFSET = 28;
+    static final int DELAY_STEP_OFFSET = 32;
+    static final int TICK_PERIOD_OFFSET = 36;
+    static final int LENGTH_OFFSET = 40;
+    static final int HEAD_CELL_OFFSET = 44;
+    static final int RUN_COUNT_OFFSET = 48;
+    static final int STACKED_OFFSET = 52;
+
+    private static final int RUNNING = 1 << 2;
+    private static final int DIRECTION_BITS = 2;
+    private static final int DIRECTION_MASK = (1 << DIRECTION_BITS) - 1;
+    private static final int MAX_RUN = 1 << (8 - DIRECTION_BITS);
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Gets the size of the largest state of a model's board, so buffers can be sized once.
+     *
+     * @param snakeModel The game.
+     * @return The size in bytes.
+     */
+    static int getMaxSize(SnakeModel snakeModel) {
+        return HEADER_SIZE + snakeModel.getBodyCapacity();
+    }
+
+    /**
+     * Writes the state of a game at the buffer's position, and moves the position past it.
+     *
+     * @param out             The buffer to write to, with room for {@link #getMaxSize(SnakeModel)} bytes.
+     * @param snakeModel      The game.
+     * @param tick            The number of ticks the server has played.
+     * @param tickPeriodNanos The server's fixed time between ticks, or 0 if it follows the model's delay.
+     * @param cells           A scratch array of at least the model's body capacity.
+     * @return The number of bytes written.
+     * @throws IllegalArgumentException If the body is not a path of neighbouring cells.
+     */
+    static int write(ByteBuffer out, SnakeModel snakeModel, long tick, long tickPeriodNanos, int[] cells) {
+        BoardGeometry geometry = snakeModel.getGeometry();
+        int columns = geometry.getColumns();
+        int base = out.position();
+        int length = snakeModel.copyBodyCells(cells);
+
+        int stacked = 0;
+        while (stacked < length - 1 && cells[length - 1 - stacked] == cells[length - 2 - stacked]) {
+            stacked++;
+        }
+        int position = base + HEADER_SIZE;
+        int runDirection = -1;
+        int runLength = 0;
+        for (int i = 1; i < length - stacked; i++) {
+            int direction = stepDirection(cells[i - 1], cells[i], columns);
+            if (direction == runDirection && runLength < MAX_RUN) {
+                runLength++;
+            } else {
+                if (runLength > 0) {
+                    out.put(position++, (byte) ((runLength - 1) << DIRECTION_BITS | runDirection));
+                }
+                runDirection = direction;
+                runLength = 1;
+            }
+        }
+        if (runLength > 0) {
+            out.put(position++, (byte) ((runLength - 1) << DIRECTION_BITS | runDirection));
+        }
+
+        int appleCell = snakeModel.getAppleY() * columns + snakeModel.getAppleX();
+        int flags = GameProtocol.DIRECTIONS.indexOf(snakeModel.getDirection()) | (snakeModel.getIsRunning() ? RUNNING : 0);
+        out.put(base + VERSION_OFFSET, VERSION);
+        out.put(base + FLAGS_OFFSET, (byte) flags);
+        out.putShort(base + COLUMNS_OFFSET, (short) columns);
+        out.putShort(base + ROWS_OFFSET, (short) geometry.getRows());
+        out.putShort(base + UNIT_SIZE_OFFSET, (short) geometry.getUnitSize());
+        out.putLong(base + TICK_OFFSET, tick);
+        out.putInt(base + SCORE_OFFSET, snakeModel.getScore());
+        out.putInt(base + HEAD_SERIAL_OFFSET, snakeModel.getHeadSerial());
+        out.putInt(base + APPLE_CELL_OFFSET, appleCell);
+        out.putInt(base + DELAY_OFFSET, snakeModel.getDelay());
+        out.putInt(base + DELAY_STEP_OFFSET, snakeModel.getDelayStep());
+        out.putInt(base + TICK_PERIOD_OFFSET, (int) (tickPeriodNanos / 1000));
+        out.putInt(base + LENGTH_OFFSET, length);
+        out.putInt(base + HEAD_CELL_OFFSET, length == 0 ? -1 : cells[0]);
+        out.putInt(base + RUN_COUNT_OFFSET, position - base - HEADER_SIZE);
+        out.putInt(base + STACKED_OFFSET, stacked);
+        out.position(position);
+        return position - base;
+    }
+
+    /**
+     * Gets the direction of the step between two neighbouring cells.
+     *
+     * @return The index of the direction in {@link GameProtocol#DIRECTIONS}.
+     */
+    private static int stepDirection(int from, int to, int columns) {
+        if (to == from - columns) {
+            return 0;
+        } else if (to == from + columns) {
+            return 1;
+        } else if (to == from - 1 && to % columns != columns - 1) {
+            return 2;
+        } else if (to == from + 1 && to % columns != 0) {
+            return 3;
+        }
+        throw new IllegalArgumentException("The body is not a path: cell " + to + " does not neighbour " + from);
+    }
+
+    /**
+     * Reads the body of a state into an array of packed cell indices, from head to tail. The header is checked
+     * before it is trusted, so a malformed state cannot read past the buffer or write past the array, and every
+     * cell read is on the board.
+     *
+     * @param in    The buffer holding the state.
+     * @param base  The offset of the state in the buffer.
+     * @param cells The array to read into, which must hold at least {@link #getLength(ByteBuffer, int)} cells.
+     * @throws IllegalArgumentException If the header or the runs do not make up a body on the board.
+     */
+    static void readBody(ByteBuffer in, int base, int[] cells) {
+        int length = getLength(in, base);
+        int stacked = in.getInt(base + STACKED_OFFSET);
+        int runCount = in.getInt(base + RUN_COUNT_OFFSET);
+        if (length < 0 || length > cells.length) {
+            throw new IllegalArgumentException("Malformed snapshot: a body of " + length + " segments for "
+                    + cells.length + " cells");
+        }
+        if (length == 0) {
+            if (stacked != 0 || runCount != 0) {
+                throw new IllegalArgumentException("Malformed snapshot: an empty body with segments");
+            }
+            return;
+        }
+        if (stacked < 0 || stacked >= length) {
+            throw new IllegalArgumentException("Malformed snapshot: " + stacked + " stacked segments of " + length);
+        }
+        if (runCount < 0 || runCount >= length || runCount > in.limit() - base - HEADER_SIZE) {
+            throw new IllegalArgumentException("Malformed snapshot: " + runCount + " runs for " + length
+                    + " segments in " + (in.limit() - base - HEADER_SIZE) + " bytes");
+        }
+        int columns = getColumns(in, base);
+        int rows = getRows(in, base);
+        int cell = in.getInt(base + HEAD_CELL_OFFSET);
+        if (cell < 0 || cell >= (long) columns * rows) {
+            throw new IllegalArgumentException("Malformed snapshot: the head is off the board: " + cell);
+        }
+        int pathEnd = length - stacked;
+        cells[0] = cell;
+        int index = 1;
+        for (int position = base + HEADER_SIZE, end = position + runCount; position < end; position++) {
+            int run = in.get(position) & 0xFF;
+            int runLength = (run >>> DIRECTION_BITS) + 1;
+            if (index + runLength > pathEnd) {
+                throw new IllegalArgumentException("Malformed snapshot: the runs are longer than the body");
+            }
+            int column = cell % columns;
+            int row = cell / columns;
+            int step;
+            boolean isOnBoard;
+            switch (run & DIRECTION_MASK) {
+                case 0:
+                    step = -columns;
+                    isOnBoard = row - runLength >= 0;
+                    break;
+                case 1:
+                    step = columns;
+                    isOnBoard = row + runLength < rows;
+                    break;
+                case 2:
+                    step = -1;
+                    isOnBoard = column - runLength >= 0;
+                    break;
+                default:
+                    step = 1;
+                    isOnBoard = column + runLength < columns;
+                    break;
+            }
+            if (!isOnBoard) {
+                throw new IllegalArgumentException("Malformed snapshot: a run leaves the board from cell " + cell);
+            }
+            for (int i = 0; i < runLength; i++) {
+                cell += step;
+                cells[index++] = cell;
+            }
+        }
+        if (index != pathEnd) {
+            throw new IllegalArgumentException("Malformed snapshot: the runs make " + index + " segments of "
+                    + pathEnd);
+        }
+        while (index < length) {
+            cells[index++] = cell;
+        }
+    }
+
+    /**
+     * Gets the size of a state, header and runs, so a reader can move past it.
+     *
+     * @param in   The buffer holding the header.
+     * @param base The offset of the state in the buffer.
+     * @return The size in bytes.
+     * @throws IllegalArgumentException If the state was written in another version of the layout.
+     */
+    static int getSize(ByteBuffer in, int base) {
+        if (in.get(base + VERSION_OFFSET) != VERSION) {
+            throw new IllegalArgumentException("Unknown snapshot version: " + in.get(base + VERSION_OFFSET));
+        }
+        return HEADER_SIZE + in.getInt(base + RUN_COUNT_OFFSET);
+    }
+
+    static long getTick(ByteBuffer in, int base) {
+        return in.getLong(base + TICK_OFFSET);
+    }
+
+    static int getColumns(ByteBuffer in, int base) {
+        return in.getShort(base + COLUMNS_OFFSET) & 0xFFFF;
+    }
+
+    static int getRows(ByteBuffer in, int base) {
+        return in.getShort(base + ROWS_OFFSET) & 0xFFFF;
+    }
+
+    static int getUnitSize(ByteBuffer in, int base) {
+        return in.getShort(base + UNIT_SIZE_OFFSET) & 0xFFFF;
+    }
+
+    static int getScore(ByteBuffer in, int base) {
+        return in.getInt(base + SCORE_OFFSET);
+    }
+
+    static int getHeadSerial(ByteBuffer in, int base) {
+        return in.getInt(base + HEAD_SERIAL_OFFSET);
+    }
+
+    static int getAppleCell(ByteBuffer in, int base) {
+        return in.getInt(base + APPLE_CELL_OFFSET);
+    }
+
+    static boolean getIsRunning(ByteBuffer in, int base) {
+        return (in.get(base + FLAGS_OFFSET) & RUNNING) != 0;
+    }
+
+    static char getDirection(ByteBuffer in, int base) {
+        return GameProtocol.DIRECTIONS.charAt(in.get(base + FLAGS_OFFSET) & DIRECTION_MASK);
+    }
+
+    static int getDelay(ByteBuffer in, int base) {
+        return in.getInt(base + DELAY_OFFSET);
+    }
+
+    static int getDelayStep(ByteBuffer in, int base) {
+        return in.getInt(base + DELAY_STEP_OFFSET);
+    }
+
+    /**
+     * Gets the server's fixed time between ticks.
+     *
+     * @param in   The buffer holding the header.
+     * @param base The offset of the state in the buffer.
+     * @return The tick period in nanoseconds, or 0 if the server follows the delay.
+     */
+    static long getTickPeriodNanos(ByteBuffer in, int base) {
+        return in.getInt(base + TICK_PERIOD_OFFSET) * 1000L;
+    }
+
+    static int getLength(ByteBuffer in, int base) {
+        return in.getInt(base + LENGTH_OFFSET);
+    }
+}
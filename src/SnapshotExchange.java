@@ -0,0 +1,83 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The SnapshotExchange class hands game snapshots from the simulation thread to the rendering thread
+ * without locks or allocation. It is a triple buffer of three pooled {@link GameSnapshot}s: the writer fills
+ * its back buffer and swaps it with the middle one, and the reader swaps its front buffer with the middle one
+ * whenever a newer snapshot is waiting. Both swaps are a single atomic exchange, so neither thread ever waits
+ * for the other and neither ever sees a buffer the other is using.
+ * <p>
+ * If the writer publishes twice before the reader looks, the older snapshot is overwritten and the reader
+ * sees the tick numbers jump, which tells it that the changed cells of the skipped tick are missing.
+ * A turn is therefore kept in every snapshot published until one at or after its tick is known to have been
+ * read, so its key press is still timed when the snapshot that applied it is skipped.
+ * There must be exactly one writer thread and one reader thread.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class SnapshotExchange {
+    // The middle buffer's index is kept in the low bits, next to a flag saying it has not been read yet
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final GameSnapshot[] buffers = new GameSnapshot[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+    private long lastPublishedTick = -1;
+    private long pendingInputTimestamp;
+    private long pendingInputTick;
+
+    /**
+     * Constructor to initialize the exchange, publishing the model's current state as the first snapshot.
+     *
+     * @param snakeModel The model whose snapshots are exchanged.
+     */
+    public SnapshotExchange(SnakeModel snakeModel) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new GameSnapshot(snakeModel);
+        }
+        buffers[front].capture(snakeModel, 0, 0, 0);
+        publish(snakeModel, 0, 0);
+    }
+
+    /**
+     * Copies the model into the back buffer and makes it the newest snapshot.
+     * Must only be called from the writer thread.
+     *
+     * @param snakeModel     The model to copy.
+     * @param tick           The number of ticks the model has played.
+     * @param inputTimestamp When the key behind a turn applied by the tick was pressed, or 0 if there was none.
+     */
+    public void publish(SnakeModel snakeModel, long tick, long inputTimestamp) {
+        // While an earlier turn may still be unseen, it is the one the player is waiting for
+        if (inputTimestamp != 0 && pendingInputTimestamp == 0) {
+            pendingInputTimestamp = inputTimestamp;
+            pendingInputTick = tick;
+        }
+        buffers[back].capture(snakeModel, tick, pendingInputTimestamp, pendingInputTick);
+        int previous = middle.getAndSet(back | FRESH);
+        back = previous & INDEX_MASK;
+        // A middle buffer that is no longer fresh means the reader took the previously published snapshot
+        if ((previous & FRESH) == 0 && lastPublishedTick >= pendingInputTick) {
+            pendingInputTimestamp = 0;
+        }
+        lastPublishedTick = tick;
+    }
+
+    /**
+     * Gets the newest snapshot. The snapshot stays unchanged until the reader calls this method again,
+     * after which it may be reused by the writer. Must only be called from the reader thread.
+     *
+     * @return The newest snapshot.
+     */
+    public GameSnapshot getLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * The TickDelta class records what changed on the board during the latest tick of a SnakeModel:
+ * the cell the head moved into, the cell it left, the cell the tail freed, where the apple moved,
+ * and whether the score or the game's state changed. Cells are packed indices (row * columns + column),
+ * and -1 means that nothing changed.
+ * <p>
+ * A model reuses a single instance, which is overwritten by the next tick.
+ * </p>
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TickDelta {
+    private int headCell = -1;
+    private int previousHeadCell = -1;
+    private int removedCell = -1;
+    private int appleCell = -1;
+    private int previousAppleCell = -1;
+    private boolean isScoreChanged;
+    private boolean isGameOver;
+
+    /**
+     * Gets the cell the head moved into.
+     *
+     * @return The packed cell index, or -1 if the snake did not move onto the board.
+     */
+    public int getHeadCell() {
+        return headCell;
+    }
+
+    /**
+     * Gets the cell the head moved out of, which is now the first body segment.
+     *
+     * @return The packed cell index, or -1 if the snake did not move onto the board.
+     */
+    public int getPreviousHeadCell() {
+        return previousHeadCell;
+    }
+
+    /**
+     * Gets the cell the tail left uncovered.
+     *
+     * @return The packed cell index, or -1 if no cell was freed.
+     */
+    public int getRemovedCell() {
+        return removedCell;
+    }
+
+    /**
+     * Gets the cell a new apple was placed on.
+     *
+     * @return The packed cell index, or -1 if the apple did not move.
+     */
+    public int getAppleCell() {
+        return appleCell;
+    }
+
+    /**
+     * Gets the cell the apple was on before a new one was placed.
+     *
+     * @return The packed cell index, or -1 if the apple did not move.
+     */
+    public int getPreviousAppleCell() {
+        return previousAppleCell;
+    }
+
+    /**
+     * Checks if the snake ate an apple, which raises the score and grows the snake.
+     *
+     * @return {@code true} if the score changed, {@code false} otherwise.
+     */
+    public boolean isScoreChanged() {
+        return isScoreChanged;
+    }
+
+    /**
+     * Checks if the game ended during the tick.
+     *
+     * @return {@code true} if the game is over, {@code false} otherwise.
+     */
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    /**
+     * Forgets the changes of the previous tick.
+     */
+    void clear() {
+        headCell = -1;
+        previousHeadCell = -1;
+        removedCell = -1;
+        appleCell = -1;
+        previousAppleCell = -1;
+        isScoreChanged = false;
+        isGameOver = false;
+    }
+
+    /**
+     * Records the head moving from one cell into another.
+     *
+     * @param previousHeadCell The packed cell index the head moved out of.
+     * @param headCell         The packed cell index the head moved into.
+     */
+    void setHead(int previousHeadCell, int headCell) {
+        this.previousHeadCell = previousHeadCell;
+        this.headCell = headCell;
+    }
+
+    /**
+     * Records the cell the tail left uncovered.
+     *
+     * @param removedCell The packed cell index.
+     */
+    void setRemovedCell(int removedCell) {
+        this.removedCell = removedCell;
+    }
+
+    /**
+     * Records a new apple being placed.
+     *
+     * @param previousAppleCell The packed cell index the apple was on.
+     * @param appleCell         The packed cell index of the new apple.
+     */
+    void setApple(int previousAppleCell, int appleCell) {
+        this.previousAppleCell = previousAppleCell;
+        this.appleCell = appleCell;
+    }
+
+    /**
+     * Records the snake eating an apple.
+     */
+    void setScoreChanged() {
+        this.isScoreChanged = true;
+    }
+
+    /**
+     * Records the game ending.
+     */
+    void setGameOver() {
+        this.isGameOver = true;
+    }
+}
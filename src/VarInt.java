@@ -0,0 +1,86 @@
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The VarInt class reads and writes variable-length integers in the LEB128 style used by protocol buffers:
+ * seven bits per byte, least significant group first, with the top bit set on every byte but the last.
+ * Small values take one byte, so counts and deltas between tick numbers stay compact.
+ * Signed values are zigzag encoded first, so small negative values are small too.
+ *
+ * @author Alireza Mak
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class VarInt {
+    // A long needs at most ten groups of seven bits
+    public static final int MAX_BYTES = 10;
+
+    private VarInt() {
+    }
+
+    /**
+     * Writes an unsigned value.
+     *
+     * @param buffer The buffer to write to, which must have room for {@link #size(long)} bytes.
+     * @param value  The value, treated as unsigned.
+     */
+    public static void putUnsigned(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned value.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value.
+     * @throws IllegalArgumentException If the value runs over ten bytes.
+     * @throws BufferUnderflowException If the buffer ends in the middle of the value.
+     */
+    public static long getUnsigned(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint: more than " + MAX_BYTES + " bytes");
+    }
+
+    /**
+     * Writes a signed value, zigzag encoded.
+     *
+     * @param buffer The buffer to write to.
+     * @param value  The value.
+     */
+    public static void putSigned(ByteBuffer buffer, long value) {
+        putUnsigned(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a signed, zigzag encoded value.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value.
+     */
+    public static long getSigned(ByteBuffer buffer) {
+        long encoded = getUnsigned(buffer);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Gets the number of bytes an unsigned value takes.
+     *
+     * @param value The value, treated as unsigned.
+     * @return The size in bytes, from 1 to 10.
+     */
+    public static int size(long value) {
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+}